@@ -0,0 +1,70 @@
+package ru.practicum.shareit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the pooled HTTP client shared by all clients talking to the ShareIt server.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class HttpClientProperties {
+    /**
+     * Time allowed to establish a TCP connection to the server.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Time allowed between two packets of a response (socket timeout).
+     */
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Time a request waits for a free pooled connection before failing.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Maximum number of pooled connections across all routes.
+     */
+    private int maxTotal = 200;
+
+    /**
+     * Maximum number of pooled connections per route; the gateway talks to a single server route.
+     */
+    private int maxPerRoute = 100;
+
+    /**
+     * How long an idle connection is kept alive when the server does not send a Keep-Alive header.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    /**
+     * Idle connections older than this are closed by a background evictor.
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    /**
+     * Pooled connections idle for longer than this are checked before being reused.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    /**
+     * Relays successful server responses as raw bytes instead of decoding and re-encoding the JSON.
+     */
+    private boolean passthrough = true;
+
+    /**
+     * Proxies requests through the non-blocking {@link NonBlockingTransport} instead of the pooled blocking client.
+     */
+    private boolean nonBlocking = false;
+
+    /**
+     * Threads completing responses in non-blocking mode.
+     */
+    private int nonBlockingThreads = Runtime.getRuntime().availableProcessors();
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends gateway requests to the ShareIt server with the non-blocking JDK {@link HttpClient}.
+ * <p>
+ * When enabled with {@code shareit-server.http.non-blocking=true}, {@link BaseClient} hands requests to this
+ * transport instead of the blocking {@code RestTemplate}. The servlet thread is released while the server
+ * is working, and a small pool of {@code non-blocking-threads} completes the responses, so the number of
+ * in-flight requests is no longer bound to the Tomcat thread pool.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit-server.http.non-blocking", havingValue = "true")
+public class NonBlockingTransport {
+    private final ObjectMapper objectMapper;
+    private final boolean passthrough;
+    private final Duration readTimeout;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+
+    public NonBlockingTransport(HttpClientProperties properties, ObjectMapper objectMapper) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.objectMapper = objectMapper;
+        this.passthrough = properties.isPassthrough();
+        this.readTimeout = properties.getReadTimeout();
+        this.executor = Executors.newFixedThreadPool(properties.getNonBlockingThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "shareit-server-client-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .executor(executor)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Sends the request and completes with the server response in the same shape {@link BaseClient}
+     * produces in blocking mode: successful bodies are relayed as bytes in passthrough mode and parsed otherwise,
+     * error bodies are passed on as bytes.
+     *
+     * @param uri     the expanded server URI
+     * @param method  the HTTP method
+     * @param headers the request headers
+     * @param body    the request body, serialized as JSON
+     * @return the future server response
+     */
+    public CompletableFuture<ResponseEntity<Object>> exchange(URI uri, HttpMethod method, HttpHeaders headers, @Nullable Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(readTimeout)
+                .method(method.name(), bodyPublisher(body));
+        headers.forEach((name, values) -> values.forEach(value -> request.header(name, value)));
+
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(this::toResponseEntity);
+    }
+
+    private HttpRequest.BodyPublisher bodyPublisher(@Nullable Object body) {
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize request body", e);
+        }
+    }
+
+    private ResponseEntity<Object> toResponseEntity(HttpResponse<byte[]> response) {
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            return ResponseEntity.status(response.statusCode()).body(response.body());
+        }
+
+        HttpHeaders headers = ProxyHeaders.forwardable(response.headers().map());
+        if (passthrough || response.body().length == 0) {
+            return ResponseEntity.status(response.statusCode()).headers(headers).body(response.body());
+        }
+        try {
+            return ResponseEntity.status(response.statusCode())
+                    .headers(headers)
+                    .body(objectMapper.readValue(response.body(), Object.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
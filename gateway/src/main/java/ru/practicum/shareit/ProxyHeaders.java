@@ -0,0 +1,29 @@
+package ru.practicum.shareit;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selects the server response headers that are passed on to the gateway caller unchanged.
+ * Framing headers such as Content-Length and Transfer-Encoding are left to the gateway's own container.
+ */
+final class ProxyHeaders {
+    private static final Set<String> FORWARDED = Set.of(
+            "content-type", "cache-control", "etag", "last-modified", "location");
+
+    private ProxyHeaders() {
+    }
+
+    static HttpHeaders forwardable(Map<String, ? extends Iterable<String>> serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            String lowerCaseName = name.toLowerCase();
+            if (FORWARDED.contains(lowerCaseName) || lowerCaseName.startsWith("x-")) {
+                values.forEach(value -> headers.add(name, value));
+            }
+        });
+        return headers;
+    }
+}
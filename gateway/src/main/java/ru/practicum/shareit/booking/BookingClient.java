@@ -1,49 +1,82 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.HttpClientProperties;
+import ru.practicum.shareit.NonBlockingTransport;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+            HttpClientProperties properties, ObjectProvider<NonBlockingTransport> nonBlockingTransport) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .build(),
+                properties.isPassthrough(),
+                nonBlockingTransport.getIfAvailable()
         );
     }
 
-    public ResponseEntity<Object> createBooking(Long userId, BookingDTO bookingDTO) {
+    public CompletableFuture<ResponseEntity<Object>> createBooking(Long userId, BookingDTO bookingDTO) {
         return post("", userId, bookingDTO);
     }
 
-    public ResponseEntity<Object> updateBookingStatus(long userId, Long bookingId, boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> updateBookingStatus(long userId, Long bookingId, boolean approved) {
         String path = String.format("/%d?approved=%s", bookingId, approved);
         return patch(path, userId);
     }
 
-    public ResponseEntity<Object> getBooking(Long bookingId, Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> updateBookingStatuses(long userId, List<BookingDecisionDTO> decisions) {
+        return patch("", userId, decisions);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getBookingEvents(Long bookingId, Long userId) {
+        String path = String.format("/%d/events", bookingId);
+        return get(path, userId);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getStats(long userId) {
+        return get("/stats", userId);
+    }
+
+    public void exportBookings(long userId, HttpServletResponse response) {
+        stream("/export", userId, response);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getBooking(Long bookingId, Long userId) {
         String path = String.format("/%d", bookingId);
         return get(path, userId);
     }
 
-    public ResponseEntity<Object> getBookings(Long userId, BookingState bookingState, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getBookings(Long userId, BookingState bookingState, Integer from, Integer size, String after) {
         String path = String.format("?state=%s&from=%d&size=%d", bookingState.name(), from, size);
-        return get(path, userId);
+        return getPage(path, userId, after);
     }
 
-    public ResponseEntity<Object> getBookingsOwner(Long userId, BookingState bookingState, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getBookingsOwner(Long userId, BookingState bookingState, Integer from, Integer size, String after) {
         String path = String.format("/owner?state=%s&from=%d&size=%d", bookingState, from, size);
-        return get(path, userId);
+        return getPage(path, userId, after);
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> getPage(String path, Long userId, String after) {
+        if (after == null) {
+            return get(path, userId);
+        }
+        return get(path + "&after={after}", userId, Map.of("after", after));
     }
 }
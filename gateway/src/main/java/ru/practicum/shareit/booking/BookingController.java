@@ -5,9 +5,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static ru.practicum.shareit.item.ItemConstant.X_SHARER_USER_ID;
 import static ru.practicum.shareit.utils.Constant.INITIAL_X;
 import static ru.practicum.shareit.utils.Constant.LIMIT;
@@ -28,8 +32,8 @@ public class BookingController {
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createBooking(@RequestHeader(X_SHARER_USER_ID) Long userid,
-                                                @Valid @RequestBody BookingDTO bookingDTO) {
+    public CompletableFuture<ResponseEntity<Object>> createBooking(@RequestHeader(X_SHARER_USER_ID) Long userid,
+                                                                   @Valid @RequestBody BookingDTO bookingDTO) {
         validator.validDate(bookingDTO);
         return client.createBooking(userid, bookingDTO);
     }
@@ -44,13 +48,28 @@ public class BookingController {
      */
     @PatchMapping("/{bookingId}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> updateBookingStatus(@RequestHeader(X_SHARER_USER_ID) long ownerId,
-                                                      @PathVariable Long bookingId,
-                                                      @RequestParam boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> updateBookingStatus(@RequestHeader(X_SHARER_USER_ID) long ownerId,
+                                                                         @PathVariable Long bookingId,
+                                                                         @RequestParam boolean approved) {
         return client.updateBookingStatus(ownerId, bookingId, approved);
     }
 
 
+    /**
+     * Approves or rejects several bookings of the owner's items at once.
+     *
+     * @param ownerId   the ID of the owner making the decisions
+     * @param decisions the booking IDs with their approval decisions
+     * @return the outcome of every decision, in request order
+     */
+    @PatchMapping
+    @ResponseStatus(HttpStatus.OK)
+    public CompletableFuture<ResponseEntity<Object>> updateBookingStatuses(@RequestHeader(X_SHARER_USER_ID) long ownerId,
+                                                                           @RequestBody List<BookingDecisionDTO> decisions) {
+        validator.validDecisions(decisions);
+        return client.updateBookingStatuses(ownerId, decisions);
+    }
+
     /**
      * Retrieves a specific booking by its ID, ensuring that only the booking owner or the item owner can access the booking information.
      *
@@ -59,11 +78,48 @@ public class BookingController {
      * @return a response DTO containing the booking data if accessible by the user, otherwise might return null or an error
      */
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@PathVariable Long bookingId,
-                                             @RequestHeader(X_SHARER_USER_ID) Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getBooking(@PathVariable Long bookingId,
+                                                                @RequestHeader(X_SHARER_USER_ID) Long userId) {
         return client.getBooking(bookingId, userId);
     }
 
+    /**
+     * Retrieves the log of status changes of a booking, oldest first, for its booker or the item owner.
+     *
+     * @param bookingId the ID of the booking
+     * @param userId    the ID of the user requesting the events
+     * @return the events of the booking
+     */
+    @GetMapping("/{bookingId}/events")
+    public CompletableFuture<ResponseEntity<Object>> getBookingEvents(@PathVariable Long bookingId,
+                                                                      @RequestHeader(X_SHARER_USER_ID) Long userId) {
+        return client.getBookingEvents(bookingId, userId);
+    }
+
+    /**
+     * Retrieves the number of bookings per status, and their total, that the user has made and has received
+     * for their items.
+     *
+     * @param userId the ID of the user
+     * @return the booking counts as booker and as owner
+     */
+    @GetMapping("/stats")
+    public CompletableFuture<ResponseEntity<Object>> getStats(@RequestHeader(X_SHARER_USER_ID) long userId) {
+        return client.getStats(userId);
+    }
+
+    /**
+     * Streams every booking made by the user as newline-delimited JSON, newest first.
+     * The server's response is copied through as it arrives and is never held in memory as a whole.
+     *
+     * @param userId   the ID of the user whose bookings are exported
+     * @param response the response the bookings are written to
+     */
+    @GetMapping("/export")
+    public void exportBookings(@RequestHeader(X_SHARER_USER_ID) long userId, HttpServletResponse response) {
+        client.exportBookings(userId, response);
+    }
+
     /**
      * Retrieves all bookings associated with a user, filtered by the state of the booking.
      *
@@ -71,14 +127,16 @@ public class BookingController {
      * @param state  the state of bookings to filter by
      * @param from   the starting index of the result set
      * @param size   the maximum number of results to be returned
+     * @param after  the cursor received with the previous page (optional)
      * @return a list of booking response DTOs matching the specified criteria
      */
     @GetMapping
-    public ResponseEntity<Object> getBookings(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                              @RequestParam(defaultValue = "ALL") BookingState state,
-                                              @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
-                                              @Positive @RequestParam(defaultValue = LIMIT) Integer size) {
-        return client.getBookings(userId, state, from, size);
+    public CompletableFuture<ResponseEntity<Object>> getBookings(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                                 @RequestParam(defaultValue = "ALL") BookingState state,
+                                                                 @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
+                                                                 @Positive @RequestParam(defaultValue = LIMIT) Integer size,
+                                                                 @RequestParam(required = false) String after) {
+        return client.getBookings(userId, state, from, size, after);
     }
 
     /**
@@ -88,14 +146,16 @@ public class BookingController {
      * @param state  the state of bookings to filter by (e.g., APPROVED, CANCELLED)
      * @param from   the start index of the results (inclusive)
      * @param size   the maximum number of results to return
+     * @param after  the cursor received with the previous page (optional)
      * @return a list of booking response DTOs for bookings on the user's owned items matching the specified criteria
      */
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsOwner(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                   @RequestParam(defaultValue = "ALL") BookingState state,
-                                                   @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
-                                                   @Positive @RequestParam(defaultValue = LIMIT) Integer size) {
-        return client.getBookingsOwner(userId, state, from, size);
+    public CompletableFuture<ResponseEntity<Object>> getBookingsOwner(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                                      @RequestParam(defaultValue = "ALL") BookingState state,
+                                                                      @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
+                                                                      @Positive @RequestParam(defaultValue = LIMIT) Integer size,
+                                                                      @RequestParam(required = false) String after) {
+        return client.getBookingsOwner(userId, state, from, size, after);
     }
 
 
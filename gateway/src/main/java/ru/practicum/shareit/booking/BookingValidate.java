@@ -3,12 +3,24 @@ package ru.practicum.shareit.booking;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.BadRequestException;
 
+import java.util.List;
+
 @Service
 public class BookingValidate {
+    private static final int MAX_DECISIONS = 100;
 
     public void validDate(BookingDTO bookingDTO) {
         if (bookingDTO.getEnd().isBefore(bookingDTO.getStart()) || bookingDTO.getStart().equals(bookingDTO.getEnd())) {
             throw new BadRequestException("Booking period is invalid");
         }
     }
+
+    public void validDecisions(List<BookingDecisionDTO> decisions) {
+        if (decisions.isEmpty() || decisions.size() > MAX_DECISIONS) {
+            throw new BadRequestException("Between 1 and " + MAX_DECISIONS + " booking decisions are allowed");
+        }
+        if (decisions.stream().anyMatch(decision -> decision.getBookingId() == null || decision.getApproved() == null)) {
+            throw new BadRequestException("Booking decision is incomplete");
+        }
+    }
 }
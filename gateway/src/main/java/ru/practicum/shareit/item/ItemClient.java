@@ -1,57 +1,75 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.HttpClientProperties;
+import ru.practicum.shareit.NonBlockingTransport;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_FLEX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+            HttpClientProperties properties, ObjectProvider<NonBlockingTransport> nonBlockingTransport) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_FLEX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .build(),
+                properties.isPassthrough(),
+                nonBlockingTransport.getIfAvailable()
         );
     }
 
 
-    public ResponseEntity<Object> createItem(Long userId, ItemDTO item) {
+    public CompletableFuture<ResponseEntity<Object>> createItem(Long userId, ItemDTO item) {
         return post("", userId, item);
     }
 
-    public ResponseEntity<Object> updateItem(Long userId, Long itemId, ItemDTO item) {
+    public CompletableFuture<ResponseEntity<Object>> importItems(Long userId, List<ItemDTO> items) {
+        return post("/bulk", userId, items);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> updateItem(Long userId, Long itemId, ItemDTO item) {
         String path = String.format("/%d", itemId);
         return patch(path, userId, item);
     }
 
-    public ResponseEntity<Object> getById(Long itemId, Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getById(Long itemId, Long userId) {
         String path = String.format("/%d", itemId);
         return get(path, userId);
     }
 
 
-    public ResponseEntity<Object> searchByText(String text, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> searchByText(String text, Integer from, Integer size) {
         String url = String.format("/search?text=%s&from=%d&size=%d", text, from, size);
 
         return get(url);
     }
 
-    public ResponseEntity<Object> getAllItem(Long userId, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getAllItem(Long userId, Integer from, Integer size) {
         String url = String.format("?from=%d&size=%d", from, size);
 
         return get(url, userId);
     }
 
-    public ResponseEntity<Object> createComment(Long userId, Long itemId, CommentDTO comment) {
+    public CompletableFuture<ResponseEntity<Object>> getAvailability(Long itemId, LocalDateTime start, LocalDateTime end) {
+        String path = String.format("/%d/availability?start={start}&end={end}", itemId);
+        return get(path, null, Map.of("start", start, "end", end));
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> createComment(Long userId, Long itemId, CommentDTO comment) {
         String path = String.format("/%d/comment", itemId);
         return post(path, userId, comment);
     }
@@ -1,14 +1,30 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exception.BadRequestException;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME;
+import static ru.practicum.shareit.item.ItemConstant.MAX_IMPORT_ROWS;
 import static ru.practicum.shareit.item.ItemConstant.X_SHARER_USER_ID;
 import static ru.practicum.shareit.utils.Constant.INITIAL_X;
 import static ru.practicum.shareit.utils.Constant.LIMIT;
@@ -21,6 +37,7 @@ import static ru.practicum.shareit.utils.Marker.OnUpdate;
 public class ItemController {
     private final ItemClient client;
     private final ItemValid itemValid;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new item and associates it with a specific user.
@@ -31,11 +48,25 @@ public class ItemController {
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createItem(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                             @Validated(OnCreate.class) @RequestBody ItemDTO itemDTO) {
+    public CompletableFuture<ResponseEntity<Object>> createItem(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                                @Validated(OnCreate.class) @RequestBody ItemDTO itemDTO) {
         return client.createItem(userId, itemDTO);
     }
 
+    /**
+     * Creates many items for the user at once from a JSON array or from newline-delimited JSON.
+     * Rows failing validation are reported by their zero-based position and do not stop the other rows.
+     *
+     * @param userId the ID of the user who owns the items
+     * @param body   the items, either as a JSON array or as one JSON object per line
+     * @return the IDs of the created items and the errors of the rejected rows
+     */
+    @PostMapping(path = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public CompletableFuture<ResponseEntity<Object>> importItems(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                                 InputStream body) {
+        return itemValid.validImport(userId, readItems(body));
+    }
+
     /**
      * Updates the details of an existing item.
      *
@@ -46,9 +77,9 @@ public class ItemController {
      */
     @PatchMapping("/{itemId}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> updateItem(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                             @PathVariable Long itemId,
-                                             @Validated(OnUpdate.class) @RequestBody ItemDTO itemDTO) {
+    public CompletableFuture<ResponseEntity<Object>> updateItem(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                                @PathVariable Long itemId,
+                                                                @Validated(OnUpdate.class) @RequestBody ItemDTO itemDTO) {
         return client.updateItem(userId, itemId, itemDTO);
     }
 
@@ -60,7 +91,7 @@ public class ItemController {
      * @return the requested item, encapsulated in a {@link ItemDTO}
      */
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getById(@RequestHeader(X_SHARER_USER_ID) Long userId, @PathVariable Long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> getById(@RequestHeader(X_SHARER_USER_ID) Long userId, @PathVariable Long itemId) {
         return client.getById(itemId, userId);
     }
 
@@ -71,9 +102,9 @@ public class ItemController {
      * @return a list of items owned by the user, each encapsulated in a {@link ItemDTO}
      */
     @GetMapping
-    public ResponseEntity<Object> getAllItem(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                             @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
-                                             @Positive @RequestParam(defaultValue = LIMIT) Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getAllItem(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                                @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
+                                                                @Positive @RequestParam(defaultValue = LIMIT) Integer size) {
         return client.getAllItem(userId, from, size);
     }
 
@@ -84,13 +115,28 @@ public class ItemController {
      * @return a list of items that match the criteria, each encapsulated in a {@link ItemDTO}
      */
     @GetMapping("/search")
-    public ResponseEntity<Object> searchByText(@RequestParam String text,
-                                               @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
-                                               @Positive @RequestParam(defaultValue = LIMIT) Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> searchByText(@RequestParam String text,
+                                                                  @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
+                                                                  @Positive @RequestParam(defaultValue = LIMIT) Integer size) {
 
         return itemValid.validText(text, from, size);
     }
 
+    /**
+     * Checks whether an item is free for the given interval.
+     *
+     * @param itemId the ID of the item
+     * @param start  the start of the interval
+     * @param end    the end of the interval
+     * @return the availability of the item and the earliest start of a free interval of the same length
+     */
+    @GetMapping("/{itemId}/availability")
+    public CompletableFuture<ResponseEntity<Object>> getAvailability(@PathVariable Long itemId,
+                                                                     @RequestParam @DateTimeFormat(iso = DATE_TIME) LocalDateTime start,
+                                                                     @RequestParam @DateTimeFormat(iso = DATE_TIME) LocalDateTime end) {
+        return itemValid.validAvailability(itemId, start, end);
+    }
+
     /**
      * Creates a new comment for a specified item.
      *
@@ -101,9 +147,31 @@ public class ItemController {
      */
     @PostMapping("/{itemId}/comment")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> createComment(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                @PathVariable Long itemId,
-                                                @Valid @RequestBody CommentDTO commentDTO) {
+    public CompletableFuture<ResponseEntity<Object>> createComment(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                                   @PathVariable Long itemId,
+                                                                   @Valid @RequestBody CommentDTO commentDTO) {
         return client.createComment(userId, itemId, commentDTO);
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads every root-level value of the body: a top-level array is unwrapped, and values separated
+     * by line breaks are read one after another, so both request formats share one code path.
+     * Reading stops at the first row over {@link ItemConstant#MAX_IMPORT_ROWS}, so an oversized body is never held in memory.
+     */
+    private List<ItemDTO> readItems(InputStream body) {
+        try (MappingIterator<ItemDTO> rows = objectMapper.readerFor(ItemDTO.class).readValues(body)) {
+            List<ItemDTO> items = new ArrayList<>();
+            while (rows.hasNextValue()) {
+                if (items.size() == MAX_IMPORT_ROWS) {
+                    throw new BadRequestException("At most " + MAX_IMPORT_ROWS + " items can be imported at once");
+                }
+                items.add(rows.nextValue());
+            }
+            return items;
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Malformed item import: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
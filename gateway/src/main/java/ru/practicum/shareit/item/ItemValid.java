@@ -4,8 +4,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.exception.BadRequestException;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static ru.practicum.shareit.item.ItemConstant.MAX_IMPORT_ROWS;
 
 @Slf4j
 @Service
@@ -13,11 +19,25 @@ import java.util.Collections;
 public class ItemValid {
     private final ItemClient client;
 
-    public ResponseEntity<Object> validText(String text, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> validText(String text, Integer from, Integer size) {
         if (text == null || text.trim().isEmpty()) {
             log.info("Search text is empty or null. Returning empty list.");
-            return ResponseEntity.ok(Collections.emptyList());
+            return CompletableFuture.completedFuture(ResponseEntity.ok(Collections.emptyList()));
         }
         return client.searchByText(text, from, size);
     }
+
+    public CompletableFuture<ResponseEntity<Object>> validImport(Long userId, List<ItemDTO> items) {
+        if (items.size() > MAX_IMPORT_ROWS) {
+            throw new BadRequestException("At most " + MAX_IMPORT_ROWS + " items can be imported at once");
+        }
+        return client.importItems(userId, items);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> validAvailability(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (!end.isAfter(start)) {
+            throw new BadRequestException("Availability period is invalid");
+        }
+        return client.getAvailability(itemId, start, end);
+    }
 }
@@ -1,43 +1,54 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.HttpClientProperties;
+import ru.practicum.shareit.NonBlockingTransport;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+            HttpClientProperties properties, ObjectProvider<NonBlockingTransport> nonBlockingTransport) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .build(),
+                properties.isPassthrough(),
+                nonBlockingTransport.getIfAvailable()
         );
     }
 
-    public ResponseEntity<Object> createRequest(Long userId, RequestDTO requestDTO) {
+    public CompletableFuture<ResponseEntity<Object>> createRequest(Long userId, RequestDTO requestDTO) {
         return post("", userId, requestDTO);
     }
 
-    public ResponseEntity<Object> getRequests(Long userId, Integer from, Integer size) {
-        String url = String.format("?from=%d&size=%d", from, size);
+    public CompletableFuture<ResponseEntity<Object>> getRequests(Long userId, Integer from, Integer size, boolean total) {
+        String url = String.format("?from=%d&size=%d&total=%b", from, size, total);
         return get(url, userId);
     }
 
-    public ResponseEntity<Object> getAllRequests(Long userId, Integer from, Integer size) {
-        String url = String.format("/all?from=%d&size=%d", from, size);
-        return get(url, userId);
+    public CompletableFuture<ResponseEntity<Object>> getAllRequests(Long userId, Integer from, Integer size, String after,
+                                                                    boolean total) {
+        String url = String.format("/all?from=%d&size=%d&total=%b", from, size, total);
+        if (after == null) {
+            return get(url, userId);
+        }
+        return get(url + "&after={after}", userId, Map.of("after", after));
     }
 
-    public ResponseEntity<Object> getRequest(Long requestId, Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getRequest(Long requestId, Long userId) {
         String url = String.format("/%d", requestId);
         return get(url, userId);
     }
@@ -8,6 +8,8 @@ import org.springframework.web.bind.annotation.*;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 
+import java.util.concurrent.CompletableFuture;
+
 import static ru.practicum.shareit.item.ItemConstant.X_SHARER_USER_ID;
 import static ru.practicum.shareit.utils.Constant.INITIAL_X;
 import static ru.practicum.shareit.utils.Constant.LIMIT;
@@ -28,37 +30,47 @@ public class RequestController {
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createRequest(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                @Valid @RequestBody RequestDTO requestDTO) {
+    public CompletableFuture<ResponseEntity<Object>> createRequest(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                                   @Valid @RequestBody RequestDTO requestDTO) {
         return client.createRequest(userId, requestDTO);
     }
 
     /**
      * Retrieves a list of RequestDTOResponse objects for the given user ID.
+     * When {@code total} is set the number of all requests of the user is returned in the {@code X-Total-Count} header.
      *
      * @param userId the ID of the user making the request
+     * @param total  whether to return the total number of requests (optional)
      * @return a list of RequestDTOResponse objects
      */
     @GetMapping
-    public ResponseEntity<Object> getRequests(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                              @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
-                                              @Positive @RequestParam(defaultValue = LIMIT) Integer size) {
-        return client.getRequests(userId, from, size);
+    public CompletableFuture<ResponseEntity<Object>> getRequests(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                                 @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
+                                                                 @Positive @RequestParam(defaultValue = LIMIT) Integer size,
+                                                                 @RequestParam(defaultValue = "false") boolean total) {
+        return client.getRequests(userId, from, size, total);
     }
 
     /**
      * Retrieves all requests based on the given parameters.
+     * When {@code after} is present the requests are returned newest first and paged by cursor;
+     * every full page carries the cursor of the next one in the {@code X-Next-Cursor} header.
+     * When {@code total} is set the number of all requests of other users is returned in the {@code X-Total-Count} header.
      *
      * @param userId The user ID.
      * @param from   The starting index of the result set. (optional)
      * @param size   The maximum number of requests to retrieve. (optional)
+     * @param after  The cursor received with the previous page, empty for the first page. (optional)
+     * @param total  Whether to return the total number of requests. (optional)
      * @return A list of RequestDTOResponse objects.
      */
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                 @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
-                                                 @Positive @RequestParam(defaultValue = LIMIT) Integer size) {
-        return client.getAllRequests(userId, from, size);
+    public CompletableFuture<ResponseEntity<Object>> getAllRequests(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                                    @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
+                                                                    @Positive @RequestParam(defaultValue = LIMIT) Integer size,
+                                                                    @RequestParam(required = false) String after,
+                                                                    @RequestParam(defaultValue = "false") boolean total) {
+        return client.getAllRequests(userId, from, size, after, total);
     }
 
     /**
@@ -69,8 +81,8 @@ public class RequestController {
      * @return the RequestDTOResponse object representing the request
      */
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequest(@PathVariable Long requestId,
-                                             @RequestHeader(X_SHARER_USER_ID) Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getRequest(@PathVariable Long requestId,
+                                                                @RequestHeader(X_SHARER_USER_ID) Long userId) {
         return client.getRequest(requestId, userId);
     }
 }
@@ -1,51 +1,57 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.HttpClientProperties;
+import ru.practicum.shareit.NonBlockingTransport;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+            HttpClientProperties properties, ObjectProvider<NonBlockingTransport> nonBlockingTransport) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .build(),
+                properties.isPassthrough(),
+                nonBlockingTransport.getIfAvailable()
         );
     }
 
-    public ResponseEntity<Object> createUser(UserDTO userDTO) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(UserDTO userDTO) {
         return post("", userDTO);
     }
 
-    public ResponseEntity<Object> updateUser(Long userId, UserDTO userDTO) {
+    public CompletableFuture<ResponseEntity<Object>> updateUser(Long userId, UserDTO userDTO) {
         return patch("/" + userId, userDTO);
     }
 
-    public void deleteUser(Long userId) {
-        delete("/" + userId);
+    public CompletableFuture<ResponseEntity<Object>> deleteUser(Long userId) {
+        return delete("/" + userId);
     }
 
-    public ResponseEntity<Object> getUser(Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUser(Long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> getAll(Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getAll(Integer from, Integer size, boolean total) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
-                "size", size
+                "size", size,
+                "total", total
         );
-        return get("?from={from}&size={size}", null, parameters);
+        return get("?from={from}&size={size}&total={total}", null, parameters);
     }
 }
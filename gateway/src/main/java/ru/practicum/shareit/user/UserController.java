@@ -9,6 +9,8 @@ import org.springframework.web.bind.annotation.*;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
+import java.util.concurrent.CompletableFuture;
+
 import static ru.practicum.shareit.utils.Constant.INITIAL_X;
 import static ru.practicum.shareit.utils.Constant.LIMIT;
 import static ru.practicum.shareit.utils.Marker.OnCreate;
@@ -33,7 +35,7 @@ public class UserController {
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createUser(@Validated(OnCreate.class) @RequestBody UserDTO userDTO) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(@Validated(OnCreate.class) @RequestBody UserDTO userDTO) {
         return client.createUser(userDTO);
     }
 
@@ -46,8 +48,8 @@ public class UserController {
      */
     @PatchMapping("/{userId}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> updateUser(@PathVariable Long userId,
-                                             @Validated(OnUpdate.class) @RequestBody UserDTO userDTO) {
+    public CompletableFuture<ResponseEntity<Object>> updateUser(@PathVariable Long userId,
+                                                                @Validated(OnUpdate.class) @RequestBody UserDTO userDTO) {
         return client.updateUser(userId, userDTO);
     }
 
@@ -58,8 +60,8 @@ public class UserController {
      */
     @DeleteMapping("/{userId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteUser(@PathVariable Long userId) {
-        client.deleteUser(userId);
+    public CompletableFuture<Void> deleteUser(@PathVariable Long userId) {
+        return client.deleteUser(userId).thenApply(response -> null);
     }
 
     /**
@@ -69,18 +71,21 @@ public class UserController {
      * @return the retrieved user, represented as a {@link UserDTO}
      */
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(@PathVariable Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUser(@PathVariable Long userId) {
         return client.getUser(userId);
     }
 
     /**
      * Retrieves a list of all users in the application.
+     * When {@code total} is set the number of all users is returned in the {@code X-Total-Count} header.
      *
+     * @param total whether to return the total number of users (optional)
      * @return a list of all users, each represented as a {@link UserDTO}
      */
     @GetMapping
-    public ResponseEntity<Object> getAll(@PositiveOrZero @RequestParam(defaultValue = INITIAL_X) Integer from,
-                                @Positive @RequestParam(defaultValue = LIMIT) Integer size) {
-        return client.getAll(from, size);
+    public CompletableFuture<ResponseEntity<Object>> getAll(@PositiveOrZero @RequestParam(defaultValue = INITIAL_X) Integer from,
+                                                            @Positive @RequestParam(defaultValue = LIMIT) Integer size,
+                                                            @RequestParam(defaultValue = "false") boolean total) {
+        return client.getAll(from, size, total);
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.item.ItemConstant.MAX_IMPORT_ROWS;
+import static ru.practicum.shareit.item.ItemConstant.X_SHARER_USER_ID;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemControllerTest {
+
+    @MockBean
+    private ItemClient client;
+
+    private final MockMvc mockMvc;
+
+    @Test
+    @SneakyThrows
+    void importItems_tooManyRows_returnsBadRequestWithoutForwarding() {
+        String row = "{\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true}\n";
+
+        mockMvc.perform(post("/items/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(row.repeat(MAX_IMPORT_ROWS + 1))
+                        .header(X_SHARER_USER_ID, 1L))
+                .andExpect(status().isBadRequest());
+
+        verify(client, never()).importItems(any(), any());
+    }
+}
@@ -29,15 +29,22 @@ public class Booking {
     @Column(name = "end_date")
     private LocalDateTime end;
 
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "item_id")
     private Item item;
 
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "booker_id")
     private User booker;
 
     @Enumerated(EnumType.STRING)
     @JoinColumn(name = "status")
     private BookingState status;
+
+    @Column(name = "archived")
+    private boolean archived;
+
+    @Version
+    @Column(name = "version")
+    private long version;
 }
\ No newline at end of file
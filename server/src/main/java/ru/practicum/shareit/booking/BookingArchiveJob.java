@@ -0,0 +1,88 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically archives bookings that ended more than the configured number of months ago.
+ * <p>
+ * Archived bookings stay in the {@code bookings} table, so past listings, counters and comment eligibility
+ * still see them, while listings of current and future bookings skip them. On PostgreSQL they live in a
+ * separate partition. Bookings are archived in batches, each in its own transaction.
+ *
+ * @author Farukh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.booking.archive.enabled", havingValue = "true")
+public class BookingArchiveJob {
+    private static final int BATCH_SIZE = 1000;
+
+    private final BookingService bookingService;
+    private final int afterMonths;
+    private final Duration interval;
+    private final ScheduledExecutorService archiveExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "booking-archive");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BookingArchiveJob(BookingService bookingService,
+                             @Value("${shareit.booking.archive.after-months:6}") int afterMonths,
+                             @Value("${shareit.booking.archive.interval:1h}") Duration interval) {
+        this.bookingService = bookingService;
+        this.afterMonths = afterMonths;
+        this.interval = interval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleOnStartup() {
+        archiveExecutor.scheduleWithFixedDelay(this::archiveQuietly, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        archiveExecutor.shutdownNow();
+    }
+
+    /**
+     * Archives every booking that ended before the cutoff.
+     *
+     * @return the number of bookings archived
+     */
+    public int archive() {
+        LocalDateTime endedBefore = LocalDateTime.now().minusMonths(afterMonths);
+        log.debug("Archiving bookings ended before {}", endedBefore);
+
+        int total = 0;
+        int archived;
+        do {
+            archived = bookingService.archiveBookings(endedBefore, BATCH_SIZE);
+            total += archived;
+        } while (archived == BATCH_SIZE);
+
+        log.info("Booking archival finished, {} bookings archived", total);
+        return total;
+    }
+
+    private void archiveQuietly() {
+        try {
+            archive();
+        } catch (RuntimeException e) {
+            log.error("Booking archival failed, retrying in {}", interval, e);
+        }
+    }
+}
@@ -1,22 +1,33 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.utils.KeysetCursor;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 import static ru.practicum.shareit.item.ItemConstant.X_SHARER_USER_ID;
 import static ru.practicum.shareit.utils.Constant.LIMIT;
 import static ru.practicum.shareit.utils.Constant.INITIAL_X;
+import static ru.practicum.shareit.utils.Constant.X_NEXT_CURSOR;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 public class BookingController {
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new booking based on the provided booking data transfer object (DTO) and associates it with a user.
@@ -49,6 +60,20 @@ public class BookingController {
     }
 
 
+    /**
+     * Approves or rejects several bookings of the owner's items at once.
+     *
+     * @param ownerId   the ID of the owner making the decisions
+     * @param decisions the booking IDs with their approval decisions
+     * @return the outcome of every decision, in request order
+     */
+    @PatchMapping
+    @ResponseStatus(HttpStatus.OK)
+    public List<BookingDecisionResultDTO> updateBookingStatuses(@RequestHeader(X_SHARER_USER_ID) Long ownerId,
+                                                                @RequestBody List<BookingDecisionDTO> decisions) {
+        return bookingService.updateBookings(ownerId, decisions);
+    }
+
     /**
      * Retrieves a specific booking by its ID, ensuring that only the booking owner or the item owner can access the booking information.
      *
@@ -62,37 +87,117 @@ public class BookingController {
         return bookingService.getBooking(bookingId, userId);
     }
 
+    /**
+     * Retrieves the log of status changes of a booking, oldest first, for its booker or the item owner.
+     *
+     * @param bookingId the ID of the booking
+     * @param userId    the ID of the user requesting the events
+     * @return the events of the booking
+     */
+    @GetMapping("/{bookingId}/events")
+    public List<BookingEventDTO> getBookingEvents(@PathVariable Long bookingId,
+                                                  @RequestHeader(X_SHARER_USER_ID) Long userId) {
+        return bookingService.getBookingEvents(bookingId, userId);
+    }
+
+    /**
+     * Retrieves the number of bookings per status, and their total, that the user has made and has received
+     * for their items. Counts are read from counters kept with every booking change, not from the bookings.
+     *
+     * @param userId the ID of the user
+     * @return the booking counts as booker and as owner
+     */
+    @GetMapping("/stats")
+    public BookingStatsDTO getStats(@RequestHeader(X_SHARER_USER_ID) Long userId) {
+        return bookingService.getStats(userId);
+    }
+
+    /**
+     * Streams every booking made by the user as newline-delimited JSON, newest first.
+     * Rows are written as they are read from the database, so the whole history is never held in memory.
+     *
+     * @param userId   the ID of the user whose bookings are exported
+     * @param response the response the bookings are written to
+     */
+    @GetMapping("/export")
+    public void exportBookings(@RequestHeader(X_SHARER_USER_ID) Long userId, HttpServletResponse response) {
+        ObjectWriter writer = objectMapper.writer();
+        bookingService.exportBookings(userId, booking -> writeLine(response, writer, booking));
+        if (response.getContentType() == null) {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        }
+    }
+
     /**
      * Retrieves all bookings associated with a user, filtered by the state of the booking.
+     * When {@code after} is present the listing is paged by cursor instead of offset: an empty value starts
+     * from the newest booking, and every full page carries the cursor of the next one in the {@code X-Next-Cursor} header.
      *
      * @param userId the ID of the user whose bookings are to be retrieved
      * @param state  the state of bookings to filter by
      * @param from   the starting index of the result set
      * @param size   the maximum number of results to be returned
+     * @param after  the cursor received with the previous page (optional)
      * @return a list of booking response DTOs matching the specified criteria
      */
     @GetMapping
-    public List<BookingDTOResponse> getBookings(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                @RequestParam(defaultValue = "ALL") BookingState state,
-                                                @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
-                                                @Positive @RequestParam(defaultValue = LIMIT) Integer size) {
-        return bookingService.getBookings(userId, state, from, size);
+    public ResponseEntity<List<BookingDTOResponse>> getBookings(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                                @RequestParam(defaultValue = "ALL") BookingState state,
+                                                                @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
+                                                                @Positive @RequestParam(defaultValue = LIMIT) Integer size,
+                                                                @RequestParam(required = false) String after) {
+        if (after == null) {
+            return ResponseEntity.ok(bookingService.getBookings(userId, state, from, size));
+        }
+        return withNextCursor(bookingService.getBookingsAfter(userId, state, KeysetCursor.decode(after), size), size);
     }
 
     /**
      * Retrieves all bookings for items owned by a user, filtered by the state of the booking.
+     * Supports the same cursor paging as {@link #getBookings}.
      *
      * @param userId the ID of the item owner
      * @param state  the state of bookings to filter by (e.g., APPROVED, CANCELLED)
      * @param from   the start index of the results (inclusive)
      * @param size   the maximum number of results to return
+     * @param after  the cursor received with the previous page (optional)
      * @return a list of booking response DTOs for bookings on the user's owned items matching the specified criteria
      */
     @GetMapping("/owner")
-    public List<BookingDTOResponse> getBookingsOwner(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                     @RequestParam(defaultValue = "ALL") BookingState state,
-                                                     @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
-                                                     @Positive @RequestParam(defaultValue = LIMIT) Integer size) {
-        return bookingService.getOwnerBookings(userId, state, from, size);
+    public ResponseEntity<List<BookingDTOResponse>> getBookingsOwner(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                                     @RequestParam(defaultValue = "ALL") BookingState state,
+                                                                     @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
+                                                                     @Positive @RequestParam(defaultValue = LIMIT) Integer size,
+                                                                     @RequestParam(required = false) String after) {
+        if (after == null) {
+            return ResponseEntity.ok(bookingService.getOwnerBookings(userId, state, from, size));
+        }
+        return withNextCursor(bookingService.getOwnerBookingsAfter(userId, state, KeysetCursor.decode(after), size), size);
+    }
+
+    private static ResponseEntity<List<BookingDTOResponse>> withNextCursor(List<BookingDTOResponse> bookings, Integer size) {
+        if (bookings.isEmpty() || bookings.size() < size) {
+            return ResponseEntity.ok(bookings);
+        }
+        BookingDTOResponse last = bookings.get(bookings.size() - 1);
+        return ResponseEntity.ok()
+                .header(X_NEXT_CURSOR, KeysetCursor.of(last.getStart(), last.getId()).encode())
+                .body(bookings);
+    }
+
+    /**
+     * The content type is set with the first line only, so that errors raised before it can still be rendered as JSON.
+     */
+    private void writeLine(HttpServletResponse response, ObjectWriter writer, BookingDTOResponse booking) {
+        try {
+            if (response.getContentType() == null) {
+                response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            }
+            OutputStream out = response.getOutputStream();
+            out.write(writer.writeValueAsBytes(booking));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.utils.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Keyset (cursor) paging for booking listings.
+ * Pages are ordered by start date and id, both descending, and every page is read with a bounded
+ * index range scan instead of skipping the rows of all previous pages, so deep pages cost the same as the first one.
+ * Bookings are returned read-only, with their item, item owner and booker fetched in the same statement.
+ * Full listings for export are read through a forward-only database cursor instead of pages.
+ */
+public interface BookingCursorRepository {
+
+    /**
+     * Finds the bookings made by a booker that follow the given cursor.
+     *
+     * @param bookerId the ID of the booker
+     * @param state    the state of bookings to filter by
+     * @param now      the moment the time-based states are evaluated against
+     * @param cursor   the position of the last booking already returned to the client
+     * @param limit    the maximum number of bookings to return
+     * @return a list of bookings ordered by start date and id in descending order
+     */
+    List<Booking> findBookerPageAfter(Long bookerId, BookingState state, LocalDateTime now, KeysetCursor cursor, int limit);
+
+    /**
+     * Finds the bookings of the items owned by a user that follow the given cursor.
+     *
+     * @param ownerId the ID of the item owner
+     * @param state   the state of bookings to filter by
+     * @param now     the moment the time-based states are evaluated against
+     * @param cursor  the position of the last booking already returned to the client
+     * @param limit   the maximum number of bookings to return
+     * @return a list of bookings ordered by start date and id in descending order
+     */
+    List<Booking> findOwnerPageAfter(Long ownerId, BookingState state, LocalDateTime now, KeysetCursor cursor, int limit);
+
+    /**
+     * Passes every booking made by a booker, with its item, item owner and booker, to the action.
+     * Rows are fetched from a forward-only cursor {@code batchSize} at a time, and the persistence context is
+     * cleared after each batch, so memory use does not grow with the number of bookings. Entities handed to the
+     * action are therefore detached once the next batch starts. Must be called inside a transaction.
+     *
+     * @param bookerId  the ID of the booker
+     * @param batchSize the JDBC fetch size and the number of bookings kept in the persistence context
+     * @param action    the action to run for each booking, in start date and id descending order
+     */
+    void forEachBookerBooking(Long bookerId, int batchSize, Consumer<Booking> action);
+}
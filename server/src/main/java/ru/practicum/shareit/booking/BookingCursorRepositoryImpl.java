@@ -0,0 +1,100 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.annotations.QueryHints;
+import ru.practicum.shareit.exception.UnSupportedStatusException;
+import ru.practicum.shareit.utils.KeysetCursor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class BookingCursorRepositoryImpl implements BookingCursorRepository {
+    private static final String BY_BOOKER = "b.booker.id = :userId";
+    private static final String BY_OWNER = "i.owner.id = :userId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> findBookerPageAfter(Long bookerId, BookingState state, LocalDateTime now, KeysetCursor cursor, int limit) {
+        return findPageAfter(BY_BOOKER, bookerId, state, now, cursor, limit);
+    }
+
+    @Override
+    public void forEachBookerBooking(Long bookerId, int batchSize, Consumer<Booking> action) {
+        TypedQuery<Booking> query = entityManager.createQuery(
+                        "SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH i.owner JOIN FETCH b.booker " +
+                                "WHERE " + BY_BOOKER + " ORDER BY b.start DESC, b.id DESC", Booking.class)
+                .setParameter("userId", bookerId)
+                .setHint(QueryHints.FETCH_SIZE, batchSize)
+                .setHint(QueryHints.READ_ONLY, true);
+
+        try (Stream<Booking> bookings = query.getResultStream()) {
+            Iterator<Booking> iterator = bookings.iterator();
+            int row = 0;
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                if (++row % batchSize == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<Booking> findOwnerPageAfter(Long ownerId, BookingState state, LocalDateTime now, KeysetCursor cursor, int limit) {
+        return findPageAfter(BY_OWNER, ownerId, state, now, cursor, limit);
+    }
+
+    private List<Booking> findPageAfter(String userCondition, Long userId, BookingState state, LocalDateTime now,
+                                        KeysetCursor cursor, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH i.owner " +
+                "JOIN FETCH b.booker WHERE ").append(userCondition);
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("userId", userId);
+
+        switch (state) {
+            case ALL:
+                break;
+            case PAST:
+                jpql.append(" AND b.end < :now");
+                parameters.put("now", now);
+                break;
+            case FUTURE:
+                jpql.append(" AND b.archived = false AND b.start > :now");
+                parameters.put("now", now);
+                break;
+            case CURRENT:
+                jpql.append(" AND b.archived = false AND b.start < :now AND b.end > :now");
+                parameters.put("now", now);
+                break;
+            case WAITING:
+            case REJECTED:
+                jpql.append(" AND b.status = :status");
+                parameters.put("status", state);
+                break;
+            default:
+                throw new UnSupportedStatusException("Unknown state: " + state);
+        }
+
+        if (!cursor.isFirst()) {
+            jpql.append(" AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId))");
+            parameters.put("cursorStart", cursor.getTimestamp());
+            parameters.put("cursorId", cursor.getId());
+        }
+        jpql.append(" ORDER BY b.start DESC, b.id DESC");
+
+        TypedQuery<Booking> query = entityManager.createQuery(jpql.toString(), Booking.class)
+                .setHint(QueryHints.READ_ONLY, true)
+                .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class BookingDecisionDTO {
+
+    private Long bookingId;
+
+    private Boolean approved;
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class BookingDecisionResultDTO {
+
+    private Long bookingId;
+
+    private BookingState status;
+
+    private String error;
+}
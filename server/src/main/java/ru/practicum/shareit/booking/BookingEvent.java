@@ -0,0 +1,45 @@
+package ru.practicum.shareit.booking;
+
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A status change of a booking, as recorded in the append-only {@code booking_events} log.
+ * The first event of a booking has no previous status.
+ */
+@Getter
+@Entity
+@Immutable
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "booking_events")
+@Builder
+@EqualsAndHashCode(of = {"id"})
+@ToString
+public class BookingEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status")
+    private BookingState from;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status")
+    private BookingState to;
+
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Column(name = "occurred_at")
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking;
+
+import java.util.Collection;
+
+public interface BookingEventBatchRepository {
+
+    /**
+     * Appends the events to the log in one JDBC batch, in iteration order.
+     *
+     * @param events the events to append; their IDs are assigned by the database and not read back
+     */
+    void append(Collection<BookingEvent> events);
+}
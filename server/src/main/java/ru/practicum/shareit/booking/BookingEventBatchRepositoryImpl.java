@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collection;
+
+public class BookingEventBatchRepositoryImpl implements BookingEventBatchRepository {
+    private static final String APPEND = "INSERT INTO booking_events (booking_id, from_status, to_status, actor_id, occurred_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void append(Collection<BookingEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(APPEND)) {
+                for (BookingEvent event : events) {
+                    statement.setLong(1, event.getBookingId());
+                    if (event.getFrom() == null) {
+                        statement.setNull(2, Types.VARCHAR);
+                    } else {
+                        statement.setString(2, event.getFrom().name());
+                    }
+                    statement.setString(3, event.getTo().name());
+                    statement.setLong(4, event.getActorId());
+                    statement.setTimestamp(5, Timestamp.valueOf(event.getOccurredAt()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+}
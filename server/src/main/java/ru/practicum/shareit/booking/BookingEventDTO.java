@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class BookingEventDTO {
+
+    private Long id;
+
+    private Long bookingId;
+
+    private BookingState from;
+
+    private BookingState to;
+
+    private Long actorId;
+
+    private LocalDateTime occurredAt;
+}
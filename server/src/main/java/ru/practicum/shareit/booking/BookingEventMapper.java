@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking;
+
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface BookingEventMapper {
+
+    BookingEventDTO toDTO(BookingEvent event);
+
+    List<BookingEventDTO> toDTOList(List<BookingEvent> events);
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * Repository of the append-only {@link BookingEvent} log.
+ * Events are only ever appended through {@link BookingEventBatchRepository#append(java.util.Collection)}.
+ *
+ * @author Farukh
+ * @version 1.0
+ * @since 1.0
+ */
+public interface BookingEventRepository extends JpaRepository<BookingEvent, Long>, BookingEventBatchRepository {
+
+    /**
+     * Finds the events of a booking in the order they were appended.
+     *
+     * @param bookingId the ID of the booking
+     * @return the events of the booking, oldest first
+     */
+    List<BookingEvent> findAllByBookingIdOrderById(Long bookingId);
+}
@@ -16,4 +16,21 @@ public interface BookingMapper {
     Booking toModel(BookingDTO bookingDTO);
 
     List<BookingDTOResponse> toDTOList(List<Booking> bookingList);
+
+    @Mappings({@Mapping(source = "startDate", target = "start"),
+            @Mapping(source = "endDate", target = "end"),
+            @Mapping(source = "itemId", target = "item.id"),
+            @Mapping(source = "itemName", target = "item.name"),
+            @Mapping(source = "itemDescription", target = "item.description"),
+            @Mapping(source = "itemAvailable", target = "item.available"),
+            @Mapping(source = "itemRequestId", target = "item.requestId"),
+            @Mapping(source = "ownerId", target = "item.owner.id"),
+            @Mapping(source = "ownerName", target = "item.owner.name"),
+            @Mapping(source = "ownerEmail", target = "item.owner.email"),
+            @Mapping(source = "bookerId", target = "booker.id"),
+            @Mapping(source = "bookerName", target = "booker.name"),
+            @Mapping(source = "bookerEmail", target = "booker.email")})
+    BookingDTOResponse fromView(BookingView bookingView);
+
+    List<BookingDTOResponse> fromViews(List<BookingView> bookingViews);
 }
\ No newline at end of file
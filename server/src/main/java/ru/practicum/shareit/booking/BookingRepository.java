@@ -4,9 +4,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import ru.practicum.shareit.item.Item;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,18 +23,27 @@ import java.util.Optional;
  * @version 1.0
  * @since 1.0
  */
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingCursorRepository {
+    /**
+     * Selects the columns of {@link BookingView} from bookings joined with their items, item owners and bookers.
+     */
+    String BOOKING_VIEW = "SELECT b.id AS id, b.start AS startDate, b.end AS endDate, b.status AS status, " +
+            "i.id AS itemId, i.name AS itemName, i.description AS itemDescription, i.available AS itemAvailable, " +
+            "i.requestId AS itemRequestId, o.id AS ownerId, o.name AS ownerName, o.email AS ownerEmail, " +
+            "u.id AS bookerId, u.name AS bookerName, u.email AS bookerEmail " +
+            "FROM Booking b JOIN b.item i JOIN i.owner o JOIN b.booker u ";
 
     /**
-     * Updates the status of bookings with the specified ID to the given status.
-     *
-     * @param status The new status of the bookings.
-     * @param id     The ID of the bookings to be updated.
+     * Native counterpart of {@link #BOOKING_VIEW}.
      */
-    @Modifying
-    @Query(nativeQuery = true,
-            value = "UPDATE bookings SET status = :status WHERE id = :id")
-    int updateBookingsByStatus(String status, Long id);
+    String BOOKING_VIEW_NATIVE = "SELECT b.id AS id, b.start_date AS startDate, b.end_date AS endDate, b.status AS status, " +
+            "i.id AS itemId, i.name AS itemName, i.description AS itemDescription, i.is_available AS itemAvailable, " +
+            "i.request_id AS itemRequestId, o.id AS ownerId, o.name AS ownerName, o.email AS ownerEmail, " +
+            "u.id AS bookerId, u.name AS bookerName, u.email AS bookerEmail " +
+            "FROM bookings b " +
+            "JOIN items i ON i.id = b.item_id " +
+            "JOIN users o ON o.id = i.owner_id " +
+            "JOIN users u ON u.id = b.booker_id ";
 
     /**
      * Checks if there exists a booking with the given booker ID, item ID, status, and end date before the specified date/time.
@@ -48,18 +57,93 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     boolean existsByBookerIdAndItem_IdAndStatusInAndEndBefore(Long bookerId, Long itemId, List<BookingState> status, LocalDateTime endBefore);
 
     /**
-     * Retrieves a Booking by the specified id and either the booker's id or the item's owner id.
+     * Checks if the item has a booking with one of the given statuses whose interval overlaps {@code [start, end)}.
+     * Archived bookings ended long before any interval that can still be booked and are not read.
+     *
+     * @param itemId the ID of the item
+     * @param status the booking states that occupy the item
+     * @param end    the end of the requested interval
+     * @param start  the start of the requested interval
+     * @return true if an overlapping booking exists, false otherwise
+     */
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.archived = false AND b.item.id = :itemId " +
+            "AND b.status IN :status AND b.start < :end AND b.end > :start")
+    boolean existsByItem_IdAndStatusInAndStartBeforeAndEndAfter(Long itemId, List<BookingState> status, LocalDateTime end, LocalDateTime start);
+
+    /**
+     * Same check as {@link #existsByItem_IdAndStatusInAndStartBeforeAndEndAfter}, leaving out the booking with the
+     * given ID, so a booking can be checked against the others of its item.
+     *
+     * @param id     the ID of the booking to leave out
+     * @param itemId the ID of the item
+     * @param status the booking states that occupy the item
+     * @param end    the end of the interval
+     * @param start  the start of the interval
+     * @return true if another overlapping booking exists, false otherwise
+     */
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.archived = false AND b.item.id = :itemId AND b.id <> :id " +
+            "AND b.status IN :status AND b.start < :end AND b.end > :start")
+    boolean existsByIdNotAndItem_IdAndStatusInAndStartBeforeAndEndAfter(Long id, Long itemId, List<BookingState> status,
+                                                                       LocalDateTime end, LocalDateTime start);
+
+    /**
+     * Finds the bookings of the item with one of the given statuses that end after the given time.
+     * Only bookings that are not archived are read, so {@code end} must not be earlier than the archival cutoff.
      *
-     * @param id       The id of the Booking to retrieve.
-     * @param bookerId The id of the booker.
-     * @param id2      An optional id parameter.
-     * @param itemId   The id of the item's owner.
-     * @return The Booking that matches the specified criteria, or null if no such Booking exists.
+     * @param itemId the ID of the item
+     * @param status the booking states that occupy the item
+     * @param end    the time after which the bookings end
+     * @return the matching bookings
      */
-    Optional<Booking> getBookingByIdAndBooker_IdOrIdAndItem_Owner_Id(Long id, Long bookerId, Long id2, Long itemId);
+    @Query("SELECT b FROM Booking b WHERE b.archived = false AND b.item.id = :itemId " +
+            "AND b.status IN :status AND b.end > :end")
+    List<Booking> findAllByItem_IdAndStatusInAndEndAfter(Long itemId, List<BookingState> status, LocalDateTime end);
+
+    /**
+     * Retrieves a booking together with its item, item owner and booker, if the user is its booker or the item owner.
+     *
+     * @param id     the ID of the booking
+     * @param userId the ID of the booker or of the item owner
+     * @return the booking, or an empty Optional if it does not exist or the user may not see it
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH i.owner JOIN FETCH b.booker " +
+            "WHERE b.id = :id AND (b.booker.id = :userId OR i.owner.id = :userId)")
+    Optional<Booking> findByIdForBookerOrOwner(Long id, Long userId);
+
+    /**
+     * Retrieves a booking together with its item, item owner and booker in a single query.
+     *
+     * @param id the ID of the booking
+     * @return the booking, or an empty Optional if it does not exist
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH i.owner JOIN FETCH b.booker WHERE b.id = :id")
+    Optional<Booking> findWithItemAndBookerById(Long id);
+
+    /**
+     * Sets the status of a booking if it has not changed since it was read at the given version.
+     * The persistence context is cleared, so bookings read afterwards reflect the update.
+     *
+     * @param id      the ID of the booking
+     * @param version the version of the booking when it was read
+     * @param status  the new status
+     * @return 1 if the booking was updated, 0 if it was changed or deleted concurrently
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 WHERE b.id = :id AND b.version = :version")
+    int updateStatusByIdAndVersion(Long id, long version, BookingState status);
+
+    /**
+     * Retrieves the bookings with the given IDs together with their items and item owners in a single query.
+     *
+     * @param ids the IDs of the bookings
+     * @return the bookings found, in no particular order
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH i.owner WHERE b.id IN :ids")
+    List<Booking> findAllWithItemByIdIn(Collection<Long> ids);
 
     /**
      * Retrieves a list of bookings for a specific booker within a given time range.
+     * Bookings still in progress are never archived, so only the current bookings are read.
      *
      * @param bookerId the ID of the booker
      * @param start    the start datetime of the time range
@@ -67,7 +151,9 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param pageable the pagination information
      * @return a list of Booking objects that match the given criteria
      */
-    List<Booking> findByBooker_IdAndStartIsBeforeAndEndIsAfter(Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE b.archived = false AND b.booker.id = :bookerId " +
+            "AND b.start < :start AND b.end > :end")
+    List<BookingView> findByBooker_IdAndStartIsBeforeAndEndIsAfter(Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
 
     /**
      * Finds all bookings associated with a specific booker ID.
@@ -80,14 +166,12 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      */
 
     @Query(nativeQuery = true,
-            value = "SELECT * " +
-                    "FROM bookings b " +
-                    "LEFT JOIN users u on u.id = b.booker_id " +
-                    "WHERE u.id = :bookerId " +
+            value = BOOKING_VIEW_NATIVE +
+                    "WHERE b.booker_id = :bookerId " +
                     "ORDER BY b.start_date DESC " +
                     "LIMIT :limit " +
                     "OFFSET :start")
-    List<Booking> findAllByBooker_Id(Long bookerId, Integer start, Integer limit);
+    List<BookingView> findAllByBooker_Id(Long bookerId, Integer start, Integer limit);
 
     /**
      * Retrieves a list of bookings owned by a specific booker.
@@ -96,30 +180,36 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param pageable The pagination information.
      * @return A list of bookings owned by the booker.
      */
-    List<Booking> getBookingByItem_Owner_Id(Long bookerId, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = :bookerId")
+    List<BookingView> getBookingByItem_Owner_Id(Long bookerId, Pageable pageable);
 
     /**
      * Finds a list of bookings where the owner of the item is the given bookerId and the end date is before the specified end date.
+     * Reads archived bookings as well.
      *
      * @param bookerId the ID of the booker (item owner)
      * @param end      the end date to compare with
      * @param pageable the pageable information
      * @return a list of bookings matching the criteria
      */
-    List<Booking> findBookingByItem_Owner_IdAndEndIsBefore(Long bookerId, LocalDateTime end, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = :bookerId AND b.end < :end")
+    List<BookingView> findBookingByItem_Owner_IdAndEndIsBefore(Long bookerId, LocalDateTime end, Pageable pageable);
 
     /**
      * Find bookings by item owner ID and start date is after the given date.
+     * Bookings that have not started are never archived, so only the current bookings are read.
      *
      * @param bookerId the ID of the booking owner
      * @param start    the start date to filter the bookings
      * @param pageable the pagination information
      * @return a list of bookings that match the given criteria
      */
-    List<Booking> findBookingByItem_Owner_IdAndStartIsAfter(Long bookerId, LocalDateTime start, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE b.archived = false AND i.owner.id = :bookerId AND b.start > :start")
+    List<BookingView> findBookingByItem_Owner_IdAndStartIsAfter(Long bookerId, LocalDateTime start, Pageable pageable);
 
     /**
      * Finds bookings based on the owner ID of the item, start and end date-time of the booking.
+     * Bookings still in progress are never archived, so only the current bookings are read.
      *
      * @param bookerId The ID of the owner of the item.
      * @param start    The start date-time of the booking.
@@ -127,11 +217,14 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param pageable The page information for pagination and sorting.
      * @return A list of bookings that match the given criteria.
      */
-    List<Booking> findBookingByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE b.archived = false AND i.owner.id = :bookerId " +
+            "AND b.start < :start AND b.end > :end")
+    List<BookingView> findBookingByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
 
 
     /**
      * Finds a list of bookings with a specific booker ID and end date before a given date.
+     * Reads archived bookings as well.
      *
      * @param userId The ID of the booker.
      * @param end    The end date to compare against.
@@ -140,26 +233,25 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @return A list of Booking objects that match the specified criteria.
      */
     @Query(nativeQuery = true,
-            value = "SELECT b.* " +
-                    "FROM bookings b " +
-                    "LEFT JOIN users u on u.id = b.booker_id " +
-                    "WHERE u.id = :userId " +
+            value = BOOKING_VIEW_NATIVE +
+                    "WHERE b.booker_id = :userId " +
                     "AND b.end_date < :end " +
                     "ORDER BY b.id DESC " +
                     "LIMIT :limit " +
                     "OFFSET :start")
-    List<Booking> findByBooker_IdAndEndIsBefore(Long userId, LocalDateTime end, Integer start, Integer limit);
+    List<BookingView> findByBooker_IdAndEndIsBefore(Long userId, LocalDateTime end, Integer start, Integer limit);
 
     /**
      * Finds bookings by booker ID and start date after a specified date.
+     * Bookings that have not started are never archived, so only the current bookings are read.
      *
      * @param userId   the ID of the booker
      * @param start    the start date to filter the bookings by
      * @param pageable the pagination information for the query
      * @return a list of bookings that match the specified booker ID and start date
      */
-
-    List<Booking> findByBooker_IdAndStartIsAfter(Long userId, LocalDateTime start, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE b.archived = false AND b.booker.id = :userId AND b.start > :start")
+    List<BookingView> findByBooker_IdAndStartIsAfter(Long userId, LocalDateTime start, Pageable pageable);
 
     /**
      * Retrieves a list of bookings for a specific booker and status, ordered by start date in descending order.
@@ -169,7 +261,8 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param pageable the pagination information
      * @return a list of bookings
      */
-    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(Long userId, BookingState status, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE b.booker.id = :userId AND b.status = :status ORDER BY b.start DESC")
+    List<BookingView> findAllByBookerIdAndStatusOrderByStartDesc(Long userId, BookingState status, Pageable pageable);
 
     /**
      * Find bookings by item owner's ID and status, ordered by start date in descending order.
@@ -179,7 +272,8 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param pageable The pagination information.
      * @return The list of bookings matching the criteria.
      */
-    List<Booking> findByItem_Owner_IdAndStatusOrderByStartDesc(Long ownerId, BookingState status, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = :ownerId AND b.status = :status ORDER BY b.start DESC")
+    List<BookingView> findByItem_Owner_IdAndStatusOrderByStartDesc(Long ownerId, BookingState status, Pageable pageable);
 
     /**
      * Finds the first booking with the given item ID where the start date is before the specified date and the status is not the given status, ordered by start date in descending
@@ -204,21 +298,72 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Optional<Booking> findFirstByItem_IdAndStartIsAfterAndStatusIsNotOrderByStartAsc(Long itemId, LocalDateTime start, BookingState status);
 
     /**
-     * Retrieves a list of bookings based on the given list of items, booking state, and sort order of start date in ascending order.
+     * Finds bookings of the items of an owner with the given status, newest first.
+     * The pending approvals of an owner are read through the partial index on waiting bookings.
      *
-     * @param items    The list of items.
-     * @param status   The booking state.
-     * @param pageable The pageable object for sorting and pagination.
-     * @return A list of Booking objects that match the given criteria.
+     * @param ownerId  The ID of the item owner
+     * @param status   The booking status
+     * @param pageable The pageable object defining pagination
+     * @return A list of the owner's bookings with the given status, ordered by id in descending order
      */
-    List<Booking> findAllByItemInAndStatusOrderByStartAsc(List<Item> items, BookingState status, Pageable pageable);
+    @Query(BOOKING_VIEW + "WHERE i.owner.id = :ownerId AND b.status = :status ORDER BY b.id DESC")
+    List<BookingView> findByItem_Owner_IdAndStatusOrderByIdDesc(Long ownerId, BookingState status, Pageable pageable);
 
     /**
-     * Finds a list of bookings by status, ordered by id in descending order.
+     * Counts the bookings made by each of the given users, per status.
      *
-     * @param state    The status of the bookings to find
-     * @param pageable The pageable object defining pagination and sorting
-     * @return A list of bookings that match the given status, ordered by id in descending order
+     * @param userIds The IDs of the bookers
+     * @return The number of bookings per booker and status, without the combinations that have none
      */
-    List<Booking> findBookingByStatusOrderByIdDesc(BookingState state, Pageable pageable);
-}
\ No newline at end of file
+    @Query("SELECT b.booker.id AS userId, b.status AS status, COUNT(b) AS bookings " +
+            "FROM Booking b WHERE b.booker.id IN :userIds GROUP BY b.booker.id, b.status")
+    List<BookingStatusCount> countByBookerIdIn(Collection<Long> userIds);
+
+    /**
+     * Counts the bookings of the items of each of the given users, per status.
+     *
+     * @param userIds The IDs of the item owners
+     * @return The number of bookings per owner and status, without the combinations that have none
+     */
+    @Query("SELECT i.owner.id AS userId, b.status AS status, COUNT(b) AS bookings " +
+            "FROM Booking b JOIN b.item i WHERE i.owner.id IN :userIds GROUP BY i.owner.id, b.status")
+    List<BookingStatusCount> countByItemOwnerIdIn(Collection<Long> userIds);
+
+    /**
+     * Finds the owners of the items a user has booked.
+     *
+     * @param bookerId The ID of the booker
+     * @return The IDs of the item owners
+     */
+    @Query("SELECT DISTINCT i.owner.id FROM Booking b JOIN b.item i WHERE b.booker.id = :bookerId")
+    List<Long> findItemOwnerIdsByBookerId(Long bookerId);
+
+    /**
+     * Finds the users who have booked items of an owner.
+     *
+     * @param ownerId The ID of the item owner
+     * @return The IDs of the bookers
+     */
+    @Query("SELECT DISTINCT b.booker.id FROM Booking b JOIN b.item i WHERE i.owner.id = :ownerId")
+    List<Long> findBookerIdsByItemOwnerId(Long ownerId);
+
+    /**
+     * Finds bookings that are not archived yet and ended before the given time, oldest first.
+     *
+     * @param endedBefore the archival cutoff
+     * @param pageable    the size of the batch
+     * @return the IDs of the bookings to archive
+     */
+    @Query("SELECT b.id FROM Booking b WHERE b.archived = false AND b.end < :endedBefore ORDER BY b.id")
+    List<Long> findIdsToArchive(LocalDateTime endedBefore, Pageable pageable);
+
+    /**
+     * Marks the bookings as archived. On PostgreSQL this moves them to the archive partition.
+     *
+     * @param ids the IDs of the bookings
+     * @return the number of bookings archived
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.archived = true, b.version = b.version + 1 WHERE b.id IN :ids")
+    int archiveByIdIn(Collection<Long> ids);
+}
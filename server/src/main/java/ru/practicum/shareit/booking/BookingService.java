@@ -1,7 +1,12 @@
 package ru.practicum.shareit.booking;
 
 
+import ru.practicum.shareit.utils.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Defines the contract for the BookingService which handles all operations related to managing bookings.
@@ -31,6 +36,16 @@ public interface BookingService {
      */
     BookingDTOResponse updateBooking(Long userId, Long bookingId,Boolean approved);
 
+    /**
+     * Approves or rejects several bookings at once. Each decision is checked like {@link #updateBooking}
+     * and failed decisions do not prevent the others from being applied.
+     *
+     * @param userId    the ID of the item owner making the decisions
+     * @param decisions the booking IDs with their approval decisions
+     * @return the outcome of every decision, in request order: the new status or the reason it was refused
+     */
+    List<BookingDecisionResultDTO> updateBookings(Long userId, List<BookingDecisionDTO> decisions);
+
     /**
      * Retrieves a specific booking by its ID, ensuring that only the booking owner or the item owner can access the booking information.
      *
@@ -40,6 +55,38 @@ public interface BookingService {
      */
     BookingDTOResponse getBooking(Long bookingId, Long userId);
 
+    /**
+     * Retrieves the number of bookings per status the user has made and has received for their items.
+     *
+     * @param userId the ID of the user
+     * @return the booking counts as booker and as owner
+     */
+    BookingStatsDTO getStats(Long userId);
+
+    /**
+     * Recounts the booking counters of the given users from their bookings.
+     *
+     * @param userIds the IDs of the users
+     */
+    void rebuildStats(Collection<Long> userIds);
+
+    /**
+     * Passes every booking made by the user to the sink, newest first, without loading the whole history at once.
+     *
+     * @param userId the ID of the user whose bookings are exported
+     * @param sink   the consumer receiving each booking as soon as it is read
+     */
+    void exportBookings(Long userId, Consumer<BookingDTOResponse> sink);
+
+    /**
+     * Retrieves the status changes of a booking, oldest first. Only the booker and the item owner can see them.
+     *
+     * @param bookingId the ID of the booking
+     * @param userId    the ID of the user requesting the events
+     * @return the events of the booking
+     */
+    List<BookingEventDTO> getBookingEvents(Long bookingId, Long userId);
+
     /**
      * Retrieves all bookings associated with a user, filtered by the state of the booking (e.g., APPROVED, REJECTED).
      *
@@ -57,4 +104,35 @@ public interface BookingService {
      * @return a list of booking response DTOs for bookings on the user's owned items matching the specified criteria
      */
     List<BookingDTOResponse> getOwnerBookings(Long userId, BookingState state, Integer from, Integer size);
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the page of a user's bookings that follows the given cursor, newest start date first.
+     *
+     * @param userId the ID of the user whose bookings are to be retrieved
+     * @param state  the state of bookings to filter by
+     * @param cursor the position of the last booking the client has already received
+     * @param size   the maximum number of results to be returned
+     * @return a list of booking response DTOs matching the specified criteria
+     */
+    List<BookingDTOResponse> getBookingsAfter(Long userId, BookingState state, KeysetCursor cursor, Integer size);
+
+    /**
+     * Retrieves the page of bookings for items owned by a user that follows the given cursor, newest start date first.
+     *
+     * @param userId the ID of the item owner
+     * @param state  the state of bookings to filter by
+     * @param cursor the position of the last booking the client has already received
+     * @param size   the maximum number of results to be returned
+     * @return a list of booking response DTOs for bookings on the user's owned items matching the specified criteria
+     */
+    List<BookingDTOResponse> getOwnerBookingsAfter(Long userId, BookingState state, KeysetCursor cursor, Integer size);
+
+    /**
+     * Archives the oldest bookings that ended before the cutoff, at most {@code batchSize} of them.
+     *
+     * @param endedBefore the archival cutoff
+     * @param batchSize   the maximum number of bookings to archive
+     * @return the number of bookings archived, zero when none are left
+     */
+    int archiveBookings(LocalDateTime endedBefore, int batchSize);
+}
@@ -8,49 +8,81 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingStateMachine.Transition;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.UnSupportedStatusException;
+import ru.practicum.shareit.item.ItemAvailabilityCalendar;
 import ru.practicum.shareit.item.ItemDTO;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.UserDTO;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.utils.KeysetCursor;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
+import static org.springframework.transaction.annotation.Isolation.READ_COMMITTED;
 import static org.springframework.transaction.annotation.Isolation.REPEATABLE_READ;
 import static org.springframework.transaction.annotation.Propagation.REQUIRED;
 import static ru.practicum.shareit.booking.BookingState.*;
+import static ru.practicum.shareit.utils.TransactionHooks.afterCommit;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true, isolation = REPEATABLE_READ, propagation = REQUIRED)
 public class BookingServiceImpl implements BookingService {
+    private static final int EXPORT_BATCH_SIZE = 500;
+    private static final int MAX_DECISIONS = 100;
+
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-
-
-    @Transactional
+    private final ItemAvailabilityCalendar availabilityCalendar;
+    private final BookingStatsCounter statsCounter;
+    private final BookingStateMachine stateMachine;
+    private final BookingEventRepository eventRepository;
+    private final BookingEventMapper eventMapper;
+
+
+    /**
+     * Runs with {@code READ_COMMITTED} so that the overlap check, made after the item lock is acquired,
+     * sees bookings committed by transactions that held the lock before.
+     */
+    @Transactional(isolation = READ_COMMITTED)
     @Override
     public BookingDTOResponse addBooking(Long userId, BookingDTO bookingDTO) {
         log.debug("Attempting to add a new booking for user ID: {}", userId);
 
         UserDTO userDTO = findUserById(userId);
-        ItemDTO itemDTO = findItemById(bookingDTO.getItemId());
+        ItemDTO itemDTO = lockItemById(bookingDTO.getItemId());
         validateBooking(itemDTO, bookingDTO, userId);
+        validateNoOverlap(bookingDTO);
 
         bookingDTO.setStatus(WAITING);
         bookingDTO.setBookerId(userId);
 
         BookingDTOResponse bookingDTOResponse = bookingMapper.toDTO(bookingRepository.save(bookingMapper.toModel(bookingDTO)));
+        stateMachine.apply(userId, List.of(
+                Transition.of(bookingDTOResponse.getId(), userId, itemDTO.getOwner().getId(), null, WAITING)));
+        afterCommit(() -> availabilityCalendar.add(
+                itemDTO.getId(), bookingDTOResponse.getId(), bookingDTO.getStart(), bookingDTO.getEnd()));
 
         bookingDTOResponse.setBooker(userDTO);
         bookingDTOResponse.setItem(itemDTO);
@@ -59,34 +91,182 @@ public class BookingServiceImpl implements BookingService {
         return bookingDTOResponse;
     }
 
-    @Transactional
+    /**
+     * Reads the booking with everything the response needs in one query and applies the decision with one
+     * update conditional on the version read, so a decision made concurrently on the same booking is
+     * reported as a conflict instead of being overwritten.
+     * A rejected booking gave up its period, so approving it again locks the item and repeats the overlap check
+     * of {@link #addBooking}, which is why this runs with {@code READ_COMMITTED} as well.
+     */
+    @Transactional(isolation = READ_COMMITTED)
     @Override
     public BookingDTOResponse updateBooking(Long userId, Long bookingId,Boolean approved) {
         log.debug("Updating booking status for booking ID: {} by user ID: {}", bookingId, userId);
 
-        BookingDTOResponse bookingDTOResponse = findBookingById(bookingId);
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId).orElseThrow(() -> {
+            log.error("Booking not found with ID: {}", bookingId);
+            return new NotFoundException("Booking not found");
+        });
+        BookingDTOResponse bookingDTOResponse = bookingMapper.toDTO(booking);
         validateWhereUpdate(bookingDTOResponse, approved, userId);
 
+        BookingState previous = bookingDTOResponse.getStatus();
         bookingDTOResponse.setStatus(approved ? APPROVED : REJECTED);
-        bookingRepository.updateBookingsByStatus(bookingDTOResponse.getStatus().toString(), bookingId);
+        if (reclaimsPeriod(previous, bookingDTOResponse.getStatus())) {
+            lockItemById(bookingDTOResponse.getItem().getId());
+            if (overlapsOtherBookings(booking)) {
+                throw new ConflictException("Item is already booked for this period");
+            }
+        }
+        if (bookingRepository.updateStatusByIdAndVersion(bookingId, booking.getVersion(), bookingDTOResponse.getStatus()) == 0) {
+            log.warn("Booking ID: {} was modified concurrently", bookingId);
+            throw new ConflictException("Booking was modified concurrently");
+        }
+        stateMachine.apply(userId, List.of(Transition.of(bookingId, bookingDTOResponse.getBooker().getId(), userId,
+                previous, bookingDTOResponse.getStatus())));
+        Long itemId = bookingDTOResponse.getItem().getId();
+        afterCommit(() -> {
+            if (approved) {
+                availabilityCalendar.add(itemId, bookingId, bookingDTOResponse.getStart(), bookingDTOResponse.getEnd());
+            } else {
+                availabilityCalendar.remove(itemId, bookingId);
+            }
+        });
 
         log.info("Booking status updated to {} for booking ID: {}", bookingDTOResponse.getStatus(), bookingId);
         return bookingDTOResponse;
     }
 
+    /**
+     * Runs with {@code READ_COMMITTED} for the same reason as {@link #updateBooking}. The items of rejected bookings
+     * approved again are locked up front in ID order, so concurrent batches cannot lock them in opposite orders.
+     */
+    @Transactional(isolation = READ_COMMITTED)
+    @Override
+    public List<BookingDecisionResultDTO> updateBookings(Long userId, List<BookingDecisionDTO> decisions) {
+        log.debug("Applying {} booking decisions by user ID: {}", decisions.size(), userId);
+
+        if (decisions.isEmpty() || decisions.size() > MAX_DECISIONS) {
+            throw new BadRequestException("Between 1 and " + MAX_DECISIONS + " booking decisions are allowed");
+        }
+        if (decisions.stream().anyMatch(decision -> decision.getBookingId() == null || decision.getApproved() == null)) {
+            throw new BadRequestException("Booking decision is incomplete");
+        }
+
+        Map<Long, Booking> bookings = bookingRepository.findAllWithItemByIdIn(
+                        decisions.stream().map(BookingDecisionDTO::getBookingId).collect(toSet())).stream()
+                .collect(toMap(Booking::getId, identity()));
+        Map<Long, BookingState> previous = bookings.values().stream()
+                .collect(toMap(Booking::getId, Booking::getStatus));
+        decisions.stream()
+                .filter(BookingDecisionDTO::getApproved)
+                .map(decision -> bookings.get(decision.getBookingId()))
+                .filter(booking -> booking != null && booking.getItem().getOwner().getId().equals(userId)
+                        && reclaimsPeriod(booking.getStatus(), APPROVED))
+                .map(booking -> booking.getItem().getId())
+                .distinct()
+                .sorted()
+                .forEach(this::lockItemById);
+
+        List<BookingDecisionResultDTO> results = decisions.stream()
+                .map(decision -> applyDecision(userId, bookings.get(decision.getBookingId()), decision))
+                .collect(toList());
+
+        List<Booking> changed = results.stream()
+                .filter(result -> result.getStatus() != null)
+                .map(result -> bookings.get(result.getBookingId()))
+                .distinct()
+                .collect(toList());
+        stateMachine.apply(userId, changed.stream()
+                .map(booking -> Transition.of(booking.getId(), booking.getBooker().getId(), userId,
+                        previous.get(booking.getId()), booking.getStatus()))
+                .collect(toList()));
+        afterCommit(() -> changed.forEach(booking -> {
+            if (booking.getStatus() == APPROVED) {
+                availabilityCalendar.add(booking.getItem().getId(), booking.getId(), booking.getStart(), booking.getEnd());
+            } else {
+                availabilityCalendar.remove(booking.getItem().getId(), booking.getId());
+            }
+        }));
+
+        log.info("Applied {} of {} booking decisions by user ID: {}", changed.size(), decisions.size(), userId);
+        return results;
+    }
 
     @Override
     public BookingDTOResponse getBooking(Long bookingId, Long userId) {
         log.debug("Fetching booking with ID: {} for user ID: {}", bookingId, userId);
 
         BookingDTOResponse dto = bookingMapper.toDTO(
-                bookingRepository.getBookingByIdAndBooker_IdOrIdAndItem_Owner_Id(bookingId, userId, bookingId, userId)
+                bookingRepository.findByIdForBookerOrOwner(bookingId, userId)
                         .orElseThrow(() -> new NotFoundException("Booking not found")));
 
         log.info("Booking retrieved successfully for booking ID: {}", bookingId);
         return dto;
     }
 
+    @Override
+    public List<BookingEventDTO> getBookingEvents(Long bookingId, Long userId) {
+        log.debug("Fetching events of booking ID: {} for user ID: {}", bookingId, userId);
+
+        bookingRepository.findByIdForBookerOrOwner(bookingId, userId)
+                .orElseThrow(() -> new NotFoundException("Booking not found"));
+        List<BookingEventDTO> events = eventMapper.toDTOList(eventRepository.findAllByBookingIdOrderById(bookingId));
+
+        log.info("Retrieved {} events of booking ID: {}", events.size(), bookingId);
+        return events;
+    }
+
+    @Override
+    public BookingStatsDTO getStats(Long userId) {
+        log.debug("Retrieving booking counters for user ID: {}", userId);
+
+        findUserById(userId);
+        BookingStatsDTO stats = statsCounter.get(userId);
+
+        log.info("Booking counters retrieved for user ID: {}", userId);
+        return stats;
+    }
+
+    /**
+     * Runs with {@code READ_COMMITTED}, as {@link BookingStatsCounter#rebuild(Collection)} requires.
+     */
+    @Transactional(isolation = READ_COMMITTED)
+    @Override
+    public void rebuildStats(Collection<Long> userIds) {
+        statsCounter.rebuild(userIds);
+    }
+
+    @Transactional
+    @Override
+    public int archiveBookings(LocalDateTime endedBefore, int batchSize) {
+        log.debug("Archiving up to {} bookings ended before {}", batchSize, endedBefore);
+
+        List<Long> bookingIds = bookingRepository.findIdsToArchive(endedBefore, PageRequest.of(0, batchSize));
+        if (bookingIds.isEmpty()) {
+            return 0;
+        }
+        int archived = bookingRepository.archiveByIdIn(bookingIds);
+
+        log.info("Archived {} bookings ended before {}", archived, endedBefore);
+        return archived;
+    }
+
+    @Override
+    public void exportBookings(Long userId, Consumer<BookingDTOResponse> sink) {
+        log.debug("Exporting bookings for user ID: {}", userId);
+
+        findUserById(userId);
+
+        AtomicLong exported = new AtomicLong();
+        bookingRepository.forEachBookerBooking(userId, EXPORT_BATCH_SIZE, booking -> {
+            sink.accept(bookingMapper.toDTO(booking));
+            exported.incrementAndGet();
+        });
+
+        log.info("Exported {} bookings for user ID: {}", exported.get(), userId);
+    }
+
     @Override
     public List<BookingDTOResponse> getBookings(Long userId, BookingState state, Integer from, Integer size) {
         log.debug("Retrieving bookings for user ID: {} with state: {}", userId, state);
@@ -100,27 +280,27 @@ public class BookingServiceImpl implements BookingService {
 
         switch (state) {
             case ALL:
-                bookings = bookingMapper.toDTOList(
+                bookings = bookingMapper.fromViews(
                         bookingRepository.findAllByBooker_Id(userId, from, size));
                 break;
             case PAST:
-                bookings = bookingMapper.toDTOList(
+                bookings = bookingMapper.fromViews(
                         bookingRepository.findByBooker_IdAndEndIsBefore(userId, now, from, size));
                 break;
             case FUTURE:
-                bookings = bookingMapper.toDTOList(
+                bookings = bookingMapper.fromViews(
                         bookingRepository.findByBooker_IdAndStartIsAfter(userId, now, pageable));
                 break;
             case CURRENT:
-                bookings = bookingMapper.toDTOList(
+                bookings = bookingMapper.fromViews(
                         bookingRepository.findByBooker_IdAndStartIsBeforeAndEndIsAfter(userId, now, now, pageable));
                 break;
             case WAITING:
-                bookings = bookingMapper.toDTOList(
+                bookings = bookingMapper.fromViews(
                         bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(userId, WAITING, pageable));
                 break;
             case REJECTED:
-                bookings = bookingMapper.toDTOList(
+                bookings = bookingMapper.fromViews(
                         bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(userId, REJECTED, pageable));
                 break;
             default:
@@ -145,28 +325,28 @@ public class BookingServiceImpl implements BookingService {
 
         switch (state) {
             case ALL:
-                bookings = bookingMapper.toDTOList(
+                bookings = bookingMapper.fromViews(
                         bookingRepository.getBookingByItem_Owner_Id(userId, pageable));
                 break;
             case PAST:
-                bookings = bookingMapper.toDTOList(
+                bookings = bookingMapper.fromViews(
                         bookingRepository.findBookingByItem_Owner_IdAndEndIsBefore(userId, now, pageable));
                 break;
             case FUTURE:
-                bookings = bookingMapper.toDTOList(
+                bookings = bookingMapper.fromViews(
                         bookingRepository.findBookingByItem_Owner_IdAndStartIsAfter(userId, now, pageable));
                 break;
             case CURRENT:
-                bookings = bookingMapper.toDTOList(
+                bookings = bookingMapper.fromViews(
                         bookingRepository.findBookingByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(userId, now, now, pageable));
                 break;
             case REJECTED:
-                bookings = bookingMapper.toDTOList(
+                bookings = bookingMapper.fromViews(
                         bookingRepository.findByItem_Owner_IdAndStatusOrderByStartDesc(userId, REJECTED, pageable));
                 break;
             case WAITING:
-                bookings = bookingMapper.toDTOList(
-                        bookingRepository.findBookingByStatusOrderByIdDesc(WAITING, pageable));
+                bookings = bookingMapper.fromViews(
+                        bookingRepository.findByItem_Owner_IdAndStatusOrderByIdDesc(userId, WAITING, pageable));
                 break;
             default:
                 log.error("Unknown booking state request: {}", state);
@@ -176,6 +356,32 @@ public class BookingServiceImpl implements BookingService {
         return bookings;
     }
 
+    @Override
+    public List<BookingDTOResponse> getBookingsAfter(Long userId, BookingState state, KeysetCursor cursor, Integer size) {
+        log.debug("Retrieving bookings for user ID: {} with state: {} after cursor: {}", userId, state, cursor);
+
+        findUserById(userId);
+
+        List<BookingDTOResponse> bookings = bookingMapper.toDTOList(
+                bookingRepository.findBookerPageAfter(userId, state, LocalDateTime.now(), cursor, size));
+
+        log.info("Found {} bookings for user ID: {} with state: {}", bookings.size(), userId, state);
+        return bookings;
+    }
+
+    @Override
+    public List<BookingDTOResponse> getOwnerBookingsAfter(Long userId, BookingState state, KeysetCursor cursor, Integer size) {
+        log.debug("Retrieving owner bookings for user ID: {} with state: {} after cursor: {}", userId, state, cursor);
+
+        findUserById(userId);
+
+        List<BookingDTOResponse> bookings = bookingMapper.toDTOList(
+                bookingRepository.findOwnerPageAfter(userId, state, LocalDateTime.now(), cursor, size));
+
+        log.info("Found {} owner bookings for user Id: {} with state: {}", bookings.size(), userId, state);
+        return bookings;
+    }
+
     private void validateBooking(ItemDTO itemDTO, BookingDTO bookingDTO, Long userId) {
         if (!itemDTO.getAvailable()) {
             log.warn("Attempted to book an unavailable item with ID: {}", bookingDTO.getItemId());
@@ -188,6 +394,62 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    /**
+     * Changes the status of the managed booking, so that all accepted decisions are flushed together as one JDBC batch.
+     * The overlap check of a rejected booking approved again flushes the decisions applied before it, so bookings
+     * approved earlier in the same batch are taken into account.
+     */
+    private BookingDecisionResultDTO applyDecision(Long userId, Booking booking, BookingDecisionDTO decision) {
+        BookingDecisionResultDTO result = BookingDecisionResultDTO.builder().bookingId(decision.getBookingId()).build();
+
+        if (booking == null) {
+            log.warn("Booking not found with ID: {}", decision.getBookingId());
+            result.setError("Booking not found");
+        } else if (!booking.getItem().getOwner().getId().equals(userId)) {
+            log.warn("Unauthorized access attempt by user ID: {} for booking ID: {}", userId, booking.getId());
+            result.setError("User not authorized");
+        } else {
+            BookingState status = decision.getApproved() ? APPROVED : REJECTED;
+            Optional<String> refusal = stateMachine.refusal(booking.getStatus(), status);
+            if (refusal.isPresent()) {
+                log.warn("Refused change of booking ID: {} from {} to {}", booking.getId(), booking.getStatus(), status);
+                result.setError(refusal.get());
+            } else if (reclaimsPeriod(booking.getStatus(), status) && overlapsOtherBookings(booking)) {
+                result.setError("Item is already booked for this period");
+            } else {
+                booking.setStatus(status);
+                result.setStatus(status);
+            }
+        }
+        return result;
+    }
+
+    private void validateNoOverlap(BookingDTO bookingDTO) {
+        if (bookingRepository.existsByItem_IdAndStatusInAndStartBeforeAndEndAfter(
+                bookingDTO.getItemId(), List.of(WAITING, APPROVED), bookingDTO.getEnd(), bookingDTO.getStart())) {
+            log.warn("Booking of item ID: {} overlaps an existing booking from {} to {}",
+                    bookingDTO.getItemId(), bookingDTO.getStart(), bookingDTO.getEnd());
+            throw new ConflictException("Item is already booked for this period");
+        }
+    }
+
+    /**
+     * Tells whether the change makes a booking that no longer occupies its period, such as a rejected one, approved.
+     */
+    private static boolean reclaimsPeriod(BookingState from, BookingState to) {
+        return to == APPROVED && from != WAITING && from != APPROVED;
+    }
+
+    private boolean overlapsOtherBookings(Booking booking) {
+        if (bookingRepository.existsByIdNotAndItem_IdAndStatusInAndStartBeforeAndEndAfter(booking.getId(),
+                booking.getItem().getId(), List.of(WAITING, APPROVED), booking.getEnd(), booking.getStart())) {
+            log.warn("Approval of booking ID: {} overlaps another booking of item ID: {}",
+                    booking.getId(), booking.getItem().getId());
+            return true;
+        }
+        return false;
+    }
+
     private UserDTO findUserById(Long userId) {
         return userMapper.toDTO(userRepository.findById(userId).orElseThrow(() -> {
             log.error("User not found with ID: {}", userId);
@@ -195,29 +457,24 @@ public class BookingServiceImpl implements BookingService {
         }));
     }
 
-    private ItemDTO findItemById(Long itemId) {
-        return itemMapper.toDTO(itemRepository.findById(itemId).orElseThrow(() -> {
+    private ItemDTO lockItemById(Long itemId) {
+        return itemMapper.toDTO(itemRepository.findByIdForUpdate(itemId).orElseThrow(() -> {
             log.error("Item not found with ID: {}", itemId);
             return new NotFoundException("Item not found");
         }));
     }
 
-    private BookingDTOResponse findBookingById(Long bookingId) {
-        return bookingMapper.toDTO(bookingRepository.findById(bookingId).orElseThrow(() -> {
-            log.error("Booking not found with ID: {}", bookingId);
-            return new NotFoundException("Booking not found");
-        }));
-    }
-
     private void validateWhereUpdate(BookingDTOResponse bookingDTOResponse, Boolean approved, Long userId) {
         if (!bookingDTOResponse.getItem().getOwner().getId().equals(userId)) {
             log.error("Unauthorized access attempt by user ID: {} for booking ID: {}", userId, bookingDTOResponse.getId());
             throw new NotFoundException("User not authorized");
         }
 
-        if (approved && bookingDTOResponse.getStatus().equals(APPROVED)) {
-            log.warn("Redundant approval attempt for already approved booking ID: {}", bookingDTOResponse.getId());
-            throw new BadRequestException("Booking already approved");
-        }
+        BookingState status = approved ? APPROVED : REJECTED;
+        stateMachine.refusal(bookingDTOResponse.getStatus(), status).ifPresent(refusal -> {
+            log.warn("Refused change of booking ID: {} from {} to {}", bookingDTOResponse.getId(),
+                    bookingDTOResponse.getStatus(), status);
+            throw new BadRequestException(refusal);
+        });
     }
 }
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingStatsCounter.StatusChange;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static java.util.stream.Collectors.toList;
+import static ru.practicum.shareit.booking.BookingState.*;
+
+/**
+ * The allowed status changes of a booking, and the single place where changes are made durable.
+ * <p>
+ * A booking is created {@code WAITING} and the owner of the item may then approve or reject it, change their mind,
+ * or reject it again. Every applied change is appended to the {@code booking_events} log and counted by
+ * {@link BookingStatsCounter} in the transaction that makes it, so the log can be replayed to the current status
+ * of any booking.
+ *
+ * @author Farukh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingStateMachine {
+    private static final Map<BookingState, Set<BookingState>> TRANSITIONS = new EnumMap<>(BookingState.class);
+
+    static {
+        TRANSITIONS.put(WAITING, EnumSet.of(APPROVED, REJECTED));
+        TRANSITIONS.put(APPROVED, EnumSet.of(REJECTED));
+        TRANSITIONS.put(REJECTED, EnumSet.of(APPROVED, REJECTED));
+    }
+
+    private final BookingEventRepository eventRepository;
+    private final BookingStatsCounter statsCounter;
+
+    /**
+     * Explains why a booking cannot change from one status to another.
+     *
+     * @param from the current status, or {@code null} for a booking being created
+     * @param to   the requested status
+     * @return the reason the change is refused, or an empty Optional if it is allowed
+     */
+    public Optional<String> refusal(BookingState from, BookingState to) {
+        if (from == null ? to == WAITING : TRANSITIONS.getOrDefault(from, Set.of()).contains(to)) {
+            return Optional.empty();
+        }
+        if (from == APPROVED && to == APPROVED) {
+            return Optional.of("Booking already approved");
+        }
+        return Optional.of(String.format("Booking cannot change from %s to %s", from, to));
+    }
+
+    /**
+     * Records status changes already checked with {@link #refusal}: appends them to the event log
+     * and applies them to the booking counters.
+     *
+     * @param actorId     the ID of the user who made the changes
+     * @param transitions the changes made in the current transaction
+     */
+    public void apply(Long actorId, Collection<Transition> transitions) {
+        LocalDateTime now = LocalDateTime.now();
+        eventRepository.append(transitions.stream()
+                .map(transition -> BookingEvent.builder()
+                        .bookingId(transition.getBookingId())
+                        .from(transition.getFrom())
+                        .to(transition.getTo())
+                        .actorId(actorId)
+                        .occurredAt(now)
+                        .build())
+                .collect(toList()));
+        statsCounter.record(transitions.stream()
+                .map(transition -> StatusChange.of(transition.getBookerId(), transition.getOwnerId(),
+                        transition.getFrom(), transition.getTo()))
+                .collect(toList()));
+    }
+
+    /**
+     * Replays the event log of a booking. The first event gives the initial status, and every following one must
+     * start from the status the previous one left and be an allowed change.
+     *
+     * @param events the events of one booking, oldest first
+     * @return the status the booking has after the events, or {@code null} if there are none
+     * @throws IllegalStateException if the log is inconsistent
+     */
+    public BookingState replay(List<BookingEvent> events) {
+        BookingState status = null;
+        for (BookingEvent event : events) {
+            if (status != null && (event.getFrom() != status || refusal(status, event.getTo()).isPresent())) {
+                throw new IllegalStateException(String.format("Event %d cannot follow status %s", event.getId(), status));
+            }
+            status = event.getTo();
+        }
+        return status;
+    }
+
+    /**
+     * A status change of one booking, with the users whose counters it affects.
+     */
+    @Getter
+    @AllArgsConstructor(staticName = "of")
+    public static class Transition {
+        private final Long bookingId;
+        private final Long bookerId;
+        private final Long ownerId;
+        private final BookingState from;
+        private final BookingState to;
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.booking;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Comparator;
+
+/**
+ * Booking counts per status of one user, either as the booker or as the owner of the booked items.
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "booking_stats")
+@IdClass(BookingStats.Key.class)
+@ToString
+public class BookingStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "role")
+    private Role role;
+
+    @Column(name = "waiting")
+    private long waiting;
+
+    @Column(name = "approved")
+    private long approved;
+
+    @Column(name = "rejected")
+    private long rejected;
+
+    @Column(name = "canceled")
+    private long canceled;
+
+    public BookingStats(Key key) {
+        this(key.getUserId(), key.getRole(), 0, 0, 0, 0);
+    }
+
+    public Key getKey() {
+        return new Key(userId, role);
+    }
+
+    /**
+     * Adds {@code delta} to the count of bookings with the given status.
+     *
+     * @param status the booking status
+     * @param delta  the change of the count, negative when bookings leave the status
+     */
+    public void add(BookingState status, long delta) {
+        switch (status) {
+            case WAITING:
+                waiting += delta;
+                break;
+            case APPROVED:
+                approved += delta;
+                break;
+            case REJECTED:
+                rejected += delta;
+                break;
+            case CANCELED:
+                canceled += delta;
+                break;
+            default:
+                throw new IllegalArgumentException("Not a booking status: " + status);
+        }
+    }
+
+    /**
+     * Returns the count of bookings with the given status.
+     *
+     * @param status the booking status
+     * @return the number of bookings
+     */
+    public long count(BookingState status) {
+        switch (status) {
+            case WAITING:
+                return waiting;
+            case APPROVED:
+                return approved;
+            case REJECTED:
+                return rejected;
+            case CANCELED:
+                return canceled;
+            default:
+                throw new IllegalArgumentException("Not a booking status: " + status);
+        }
+    }
+
+    public void reset() {
+        waiting = 0;
+        approved = 0;
+        rejected = 0;
+        canceled = 0;
+    }
+
+    public enum Role {
+        BOOKER,
+        OWNER
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    @ToString
+    public static class Key implements Serializable, Comparable<Key> {
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::getUserId).thenComparing(Key::getRole);
+
+        private Long userId;
+
+        private Role role;
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
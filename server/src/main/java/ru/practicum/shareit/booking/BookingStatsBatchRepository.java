@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes booking counters in JDBC batches.
+ */
+public interface BookingStatsBatchRepository {
+
+    /**
+     * Inserts new counters.
+     *
+     * @param stats the counters to insert
+     */
+    void insert(Collection<BookingStats> stats);
+
+    /**
+     * Adds the given deltas to the stored counters with one {@code UPDATE ... SET x = x + ?} per counter,
+     * sent as a single JDBC batch. Each update is atomic, so concurrent increments are never lost.
+     * Deltas are applied in their iteration order, which callers keep consistent to avoid lock-order deadlocks.
+     *
+     * @param deltas the changes of the counts, keyed by user and role
+     * @return the deltas whose counter row does not exist and therefore were not applied
+     */
+    List<BookingStats> increment(Collection<BookingStats> deltas);
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class BookingStatsBatchRepositoryImpl implements BookingStatsBatchRepository {
+    private static final String INCREMENT = "UPDATE booking_stats " +
+            "SET waiting = waiting + ?, approved = approved + ?, rejected = rejected + ?, canceled = canceled + ? " +
+            "WHERE user_id = ? AND role = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void insert(Collection<BookingStats> stats) {
+        stats.forEach(entityManager::persist);
+    }
+
+    @Override
+    public List<BookingStats> increment(Collection<BookingStats> deltas) {
+        List<BookingStats> missing = new ArrayList<>();
+        if (deltas.isEmpty()) {
+            return missing;
+        }
+
+        List<BookingStats> ordered = new ArrayList<>(deltas);
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INCREMENT)) {
+                for (BookingStats delta : ordered) {
+                    statement.setLong(1, delta.getWaiting());
+                    statement.setLong(2, delta.getApproved());
+                    statement.setLong(3, delta.getRejected());
+                    statement.setLong(4, delta.getCanceled());
+                    statement.setLong(5, delta.getUserId());
+                    statement.setString(6, delta.getRole().name());
+                    statement.addBatch();
+                }
+                int[] updated = statement.executeBatch();
+                for (int i = 0; i < updated.length; i++) {
+                    if (updated[i] == 0) {
+                        missing.add(ordered.get(i));
+                    }
+                }
+            }
+        });
+        return missing;
+    }
+}
@@ -0,0 +1,169 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
+import static ru.practicum.shareit.booking.BookingState.*;
+import static ru.practicum.shareit.booking.BookingStats.Role.BOOKER;
+import static ru.practicum.shareit.booking.BookingStats.Role.OWNER;
+
+/**
+ * Keeps the per-user booking counters in {@code booking_stats} in step with the bookings.
+ * <p>
+ * Every status change is recorded in the transaction that makes it, as atomic increments applied in user and role
+ * order, so concurrent transactions never lose an update and never wait on each other's counters in a cycle.
+ * Counters can be rebuilt from {@link BookingRepository} at any time; a rebuild locks the counters first and then
+ * counts, so increments of transactions running meanwhile are either counted or applied after it, never both.
+ * Only statuses are counted: the time-based states depend on the current moment and cannot be kept incrementally.
+ *
+ * @author Farukh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingStatsCounter {
+    private static final List<BookingState> STATUSES = List.of(WAITING, APPROVED, REJECTED, CANCELED);
+
+    private final BookingStatsRepository statsRepository;
+    private final BookingRepository bookingRepository;
+
+    /**
+     * Creates the empty counters of a new user.
+     *
+     * @param userId the ID of the new user
+     */
+    public void init(Long userId) {
+        statsRepository.insert(List.of(
+                new BookingStats(new BookingStats.Key(userId, BOOKER)),
+                new BookingStats(new BookingStats.Key(userId, OWNER))));
+    }
+
+    /**
+     * Applies status changes to the counters of the bookers and item owners involved.
+     * Counters that do not exist yet are rebuilt from the bookings instead.
+     *
+     * @param changes the status changes made in the current transaction
+     */
+    public void record(Collection<StatusChange> changes) {
+        Map<BookingStats.Key, BookingStats> deltas = new TreeMap<>();
+        for (StatusChange change : changes) {
+            if (change.getFrom() == change.getTo()) {
+                continue;
+            }
+            addDelta(deltas, new BookingStats.Key(change.getBookerId(), BOOKER), change);
+            addDelta(deltas, new BookingStats.Key(change.getOwnerId(), OWNER), change);
+        }
+
+        List<BookingStats> missing = statsRepository.increment(deltas.values());
+        if (!missing.isEmpty()) {
+            log.warn("Booking counters missing for {}, rebuilding them", missing);
+            rebuild(missing.stream().map(BookingStats::getUserId).collect(toSet()));
+        }
+    }
+
+    /**
+     * Recounts the booker and owner counters of the given users from their bookings.
+     * Must run in a {@code READ_COMMITTED} transaction, so the counts include every transaction
+     * that incremented the counters before their lock was acquired.
+     *
+     * @param userIds the IDs of existing users
+     */
+    public void rebuild(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        log.debug("Rebuilding booking counters for user IDs: {}", userIds);
+
+        Map<BookingStats.Key, BookingStats> stats = statsRepository.findAllByUserIdInForUpdate(userIds).stream()
+                .collect(toMap(BookingStats::getKey, identity()));
+        List<BookingStats> created = new ArrayList<>();
+        for (Long userId : userIds) {
+            for (BookingStats.Role role : BookingStats.Role.values()) {
+                stats.computeIfAbsent(new BookingStats.Key(userId, role), key -> {
+                    BookingStats row = new BookingStats(key);
+                    created.add(row);
+                    return row;
+                }).reset();
+            }
+        }
+
+        bookingRepository.countByBookerIdIn(userIds).forEach(count ->
+                stats.get(new BookingStats.Key(count.getUserId(), BOOKER)).add(count.getStatus(), count.getBookings()));
+        bookingRepository.countByItemOwnerIdIn(userIds).forEach(count ->
+                stats.get(new BookingStats.Key(count.getUserId(), OWNER)).add(count.getStatus(), count.getBookings()));
+        statsRepository.insert(created);
+
+        log.info("Rebuilt booking counters for {} users", userIds.size());
+    }
+
+    /**
+     * Finds the users whose counters include bookings shared with the given user:
+     * the owners of the items the user has booked and the bookers of the user's items.
+     *
+     * @param userId the ID of the user
+     * @return the IDs of the other users
+     */
+    public Set<Long> counterparts(Long userId) {
+        Set<Long> userIds = new HashSet<>(bookingRepository.findItemOwnerIdsByBookerId(userId));
+        userIds.addAll(bookingRepository.findBookerIdsByItemOwnerId(userId));
+        userIds.remove(userId);
+        return userIds;
+    }
+
+    /**
+     * Reads the counters of a user.
+     *
+     * @param userId the ID of the user
+     * @return the booking counts per status, and their total, as booker and as owner
+     */
+    public BookingStatsDTO get(Long userId) {
+        Map<BookingStats.Role, BookingStats> stats = statsRepository.findAllByUserId(userId).stream()
+                .collect(toMap(BookingStats::getRole, identity()));
+
+        return BookingStatsDTO.builder()
+                .booker(toCounts(stats.get(BOOKER)))
+                .owner(toCounts(stats.get(OWNER)))
+                .build();
+    }
+
+    private static void addDelta(Map<BookingStats.Key, BookingStats> deltas, BookingStats.Key key, StatusChange change) {
+        BookingStats delta = deltas.computeIfAbsent(key, BookingStats::new);
+        if (change.getFrom() != null) {
+            delta.add(change.getFrom(), -1);
+        }
+        delta.add(change.getTo(), 1);
+    }
+
+    private static Map<BookingState, Long> toCounts(BookingStats stats) {
+        Map<BookingState, Long> counts = new EnumMap<>(BookingState.class);
+        counts.put(ALL, 0L);
+        for (BookingState status : STATUSES) {
+            long count = stats == null ? 0 : stats.count(status);
+            counts.put(status, count);
+            counts.merge(ALL, count, Long::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * A booking status change, with {@code from} left {@code null} for a new booking.
+     */
+    @Getter
+    @AllArgsConstructor(staticName = "of")
+    public static class StatusChange {
+        private final Long bookerId;
+        private final Long ownerId;
+        private final BookingState from;
+        private final BookingState to;
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking;
+
+import lombok.*;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class BookingStatsDTO {
+
+    private Map<BookingState, Long> booker;
+
+    private Map<BookingState, Long> owner;
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint rebuilding the booking counters of a user from the bookings.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "bookingstats")
+public class BookingStatsEndpoint {
+    private final BookingService bookingService;
+
+    @WriteOperation
+    public BookingStatsDTO rebuild(@Selector Long userId) {
+        bookingService.rebuildStats(List.of(userId));
+        return bookingService.getStats(userId);
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+
+public interface BookingStatsRepository extends JpaRepository<BookingStats, BookingStats.Key>, BookingStatsBatchRepository {
+
+    /**
+     * Finds the booker and owner counters of a user.
+     *
+     * @param userId the ID of the user
+     * @return the counters of the user, at most one per role
+     */
+    List<BookingStats> findAllByUserId(Long userId);
+
+    /**
+     * Finds and locks the counters of the given users, so that no increment is applied while they are rebuilt.
+     *
+     * @param userIds the IDs of the users
+     * @return the existing counters of the users
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BookingStats s WHERE s.userId IN :userIds")
+    List<BookingStats> findAllByUserIdInForUpdate(Collection<Long> userIds);
+}
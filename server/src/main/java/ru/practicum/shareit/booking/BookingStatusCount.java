@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking;
+
+/**
+ * The number of bookings of one user with one status.
+ */
+public interface BookingStatusCount {
+
+    Long getUserId();
+
+    BookingState getStatus();
+
+    long getBookings();
+}
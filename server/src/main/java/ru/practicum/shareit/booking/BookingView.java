@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row of a booking listing: the booking with the columns of its item, item owner and booker
+ * that {@link BookingDTOResponse} returns, selected in one query without loading any entity.
+ *
+ * @author Farukh
+ * @version 1.0
+ * @since 1.0
+ */
+public interface BookingView {
+
+    Long getId();
+
+    LocalDateTime getStartDate();
+
+    LocalDateTime getEndDate();
+
+    BookingState getStatus();
+
+    Long getItemId();
+
+    String getItemName();
+
+    String getItemDescription();
+
+    Boolean getItemAvailable();
+
+    Long getItemRequestId();
+
+    Long getOwnerId();
+
+    String getOwnerName();
+
+    String getOwnerEmail();
+
+    Long getBookerId();
+
+    String getBookerName();
+
+    String getBookerEmail();
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class ConflictException extends RuntimeException {
+    private final HttpStatus httpStatus;
+
+    /**
+     * Constructs a new runtime exception with the specified detail message.
+     * The cause is not initialized, and may subsequently be initialized by a
+     * call to {@link #initCause}.
+     *
+     * @param message the detail message. The detail message is saved for
+     *                later retrieval by the {@link #getMessage()} method.
+     */
+    public ConflictException(String message) {
+        super(message);
+        this.httpStatus = HttpStatus.CONFLICT;
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -30,6 +31,24 @@ public class HandlerException {
                 .build(), e.getHttpStatus());
     }
 
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> conflict(final ConflictException e) {
+        log.warn("409 {}", e.getMessage());
+        return new ResponseEntity<>(ErrorResponse.builder()
+                .error("Conflict")
+                .message(e.getMessage())
+                .build(), e.getHttpStatus());
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> concurrentUpdate(final OptimisticLockingFailureException e) {
+        log.warn("409 {}", e.getMessage());
+        return new ResponseEntity<>(ErrorResponse.builder()
+                .error("Conflict")
+                .message("Resource was modified concurrently")
+                .build(), HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler
     public ResponseEntity<ErrorResponse> unsupported(final UnSupportedStatusException e) {
         log.warn("400 {}", e.getMessage());
@@ -0,0 +1,156 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static ru.practicum.shareit.booking.BookingState.APPROVED;
+import static ru.practicum.shareit.booking.BookingState.WAITING;
+
+/**
+ * In-memory calendar of the intervals during which items are occupied by waiting or approved bookings.
+ * <p>
+ * The calendar of an item is loaded from {@link BookingRepository} on first use and then kept current by
+ * {@link ru.practicum.shareit.booking.BookingServiceImpl} after each committed booking change. Only bookings ending
+ * after the load are kept. Because overlapping bookings are rejected when created, the intervals of an item are
+ * disjoint and every lookup is a logarithmic search in a sorted set. Calendars not used for an hour are dropped.
+ *
+ * @author Farukh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class ItemAvailabilityCalendar {
+    private static final int MAX_CALENDARS = 10_000;
+    private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofHours(1);
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, Calendar> calendars = Caffeine.newBuilder()
+            .maximumSize(MAX_CALENDARS)
+            .expireAfterAccess(EXPIRE_AFTER_ACCESS)
+            .build();
+
+    public ItemAvailabilityCalendar(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    /**
+     * Finds the earliest start, not before {@code start}, of a free interval as long as {@code [start, end)}.
+     * The item is free for the requested interval when the result equals {@code start}.
+     * <p>
+     * A calendar that is not loaded yet is read from the database in the calling transaction,
+     * which must therefore see committed data as of the query, not as of an earlier snapshot.
+     *
+     * @param itemId the ID of the item
+     * @param start  the start of the requested interval
+     * @param end    the end of the requested interval
+     * @return the start of the first free interval of the same length
+     */
+    public LocalDateTime nextFreeStart(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return calendars.get(itemId, this::load).nextFreeStart(start, Duration.between(start, end));
+    }
+
+    /**
+     * Marks the item as occupied by the booking. Does nothing when the item calendar is not loaded.
+     *
+     * @param itemId    the ID of the booked item
+     * @param bookingId the ID of the booking
+     * @param start     the start of the booking
+     * @param end       the end of the booking
+     */
+    public void add(Long itemId, Long bookingId, LocalDateTime start, LocalDateTime end) {
+        calendars.asMap().computeIfPresent(itemId, (id, calendar) -> calendar.add(new Slot(bookingId, start, end)));
+    }
+
+    /**
+     * Frees the interval held by the booking. Does nothing when the item calendar is not loaded.
+     *
+     * @param itemId    the ID of the booked item
+     * @param bookingId the ID of the booking that no longer occupies the item
+     */
+    public void remove(Long itemId, Long bookingId) {
+        calendars.asMap().computeIfPresent(itemId, (id, calendar) -> calendar.remove(bookingId));
+    }
+
+    /**
+     * Drops every loaded calendar, for changes that remove bookings of unknown items such as user deletion.
+     */
+    public void invalidateAll() {
+        calendars.invalidateAll();
+    }
+
+    private Calendar load(Long itemId) {
+        log.debug("Loading availability calendar for item ID: {}", itemId);
+
+        Calendar calendar = new Calendar();
+        bookingRepository.findAllByItem_IdAndStatusInAndEndAfter(itemId, List.of(WAITING, APPROVED), LocalDateTime.now())
+                .forEach(booking -> calendar.add(toSlot(booking)));
+        return calendar;
+    }
+
+    private static Slot toSlot(Booking booking) {
+        return new Slot(booking.getId(), booking.getStart(), booking.getEnd());
+    }
+
+    private static final class Calendar {
+        private final NavigableSet<Slot> slots = new TreeSet<>(Slot.BY_START);
+        private final Map<Long, Slot> slotsByBooking = new HashMap<>();
+
+        private synchronized Calendar add(Slot slot) {
+            remove(slot.bookingId);
+            slots.add(slot);
+            slotsByBooking.put(slot.bookingId, slot);
+            return this;
+        }
+
+        private synchronized Calendar remove(Long bookingId) {
+            Slot slot = slotsByBooking.remove(bookingId);
+            if (slot != null) {
+                slots.remove(slot);
+            }
+            return this;
+        }
+
+        /**
+         * The latest slot starting before the end of a candidate interval is the only one that can overlap it,
+         * so each step either accepts the candidate or moves it past one occupied slot.
+         */
+        private synchronized LocalDateTime nextFreeStart(LocalDateTime start, Duration length) {
+            LocalDateTime candidate = start;
+            while (true) {
+                Slot latest = slots.lower(Slot.probe(candidate.plus(length)));
+                if (latest == null || !latest.end.isAfter(candidate)) {
+                    return candidate;
+                }
+                candidate = latest.end;
+            }
+        }
+    }
+
+    private static final class Slot {
+        private static final Comparator<Slot> BY_START = Comparator.comparing((Slot slot) -> slot.start)
+                .thenComparing(slot -> slot.bookingId);
+
+        private final Long bookingId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private Slot(Long bookingId, LocalDateTime start, LocalDateTime end) {
+            this.bookingId = bookingId;
+            this.start = start;
+            this.end = end;
+        }
+
+        private static Slot probe(LocalDateTime start) {
+            return new Slot(Long.MIN_VALUE, start, start);
+        }
+    }
+}
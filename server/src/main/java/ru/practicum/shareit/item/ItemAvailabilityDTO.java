@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class ItemAvailabilityDTO {
+
+    private Long itemId;
+
+    private LocalDateTime start;
+
+    private LocalDateTime end;
+
+    private Boolean available;
+
+    private LocalDateTime nextAvailableStart;
+}
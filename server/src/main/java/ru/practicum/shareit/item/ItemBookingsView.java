@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item;
+
+/**
+ * Last and next approved booking of an item, as returned by {@link ItemRepository#findLastAndNextBookings}.
+ *
+ * @author Farukh
+ * @version 1.0
+ * @since 1.0
+ */
+public interface ItemBookingsView {
+
+    Long getItemId();
+
+    Long getLastBookingId();
+
+    Long getLastBookerId();
+
+    Long getNextBookingId();
+
+    Long getNextBookerId();
+}
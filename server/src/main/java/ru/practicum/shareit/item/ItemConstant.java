@@ -5,4 +5,6 @@ import lombok.experimental.UtilityClass;
 @UtilityClass
 public final class ItemConstant {
     public static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+
+    public static final int MAX_IMPORT_ROWS = 10_000;
 }
\ No newline at end of file
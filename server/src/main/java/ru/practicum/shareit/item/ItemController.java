@@ -1,14 +1,27 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exception.BadRequestException;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME;
+import static ru.practicum.shareit.item.ItemConstant.MAX_IMPORT_ROWS;
 import static ru.practicum.shareit.item.ItemConstant.X_SHARER_USER_ID;
 import static ru.practicum.shareit.utils.Constant.LIMIT;
 import static ru.practicum.shareit.utils.Constant.INITIAL_X;
@@ -21,6 +34,7 @@ import static ru.practicum.shareit.utils.Marker.OnUpdate;
 public class ItemController {
     private final ItemService itemService;
     private final CommentService commentService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new item and associates it with a specific user.
@@ -36,6 +50,19 @@ public class ItemController {
         return itemService.addItem(userId, itemDTO);
     }
 
+    /**
+     * Creates many items for the user at once from a JSON array or from newline-delimited JSON.
+     * Rows failing validation are reported by their zero-based position and do not stop the other rows.
+     *
+     * @param userId the ID of the user who owns the items
+     * @param body   the items, either as a JSON array or as one JSON object per line
+     * @return the IDs of the created items and the errors of the rejected rows, encapsulated in a {@link ItemImportResultDTO}
+     */
+    @PostMapping(path = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ItemImportResultDTO importItems(@RequestHeader(X_SHARER_USER_ID) Long userId, InputStream body) {
+        return itemService.importItems(userId, readItems(body));
+    }
+
     /**
      * Updates the details of an existing item.
      *
@@ -90,6 +117,21 @@ public class ItemController {
         return itemService.getItemsByNameOrDescription(text, from, size);
     }
 
+    /**
+     * Checks whether an item is free for the given interval.
+     *
+     * @param itemId the ID of the item
+     * @param start  the start of the interval
+     * @param end    the end of the interval
+     * @return the availability of the item, encapsulated in a {@link ItemAvailabilityDTO}
+     */
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDTO getAvailability(@PathVariable Long itemId,
+                                               @RequestParam @DateTimeFormat(iso = DATE_TIME) LocalDateTime start,
+                                               @RequestParam @DateTimeFormat(iso = DATE_TIME) LocalDateTime end) {
+        return itemService.getAvailability(itemId, start, end);
+    }
+
     /**
      * Creates a new comment for a specified item.
      *
@@ -105,4 +147,26 @@ public class ItemController {
                                     @Valid @RequestBody CommentDTO commentDTO) {
         return commentService.addComment(userId, itemId, commentDTO);
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads every root-level value of the body: a top-level array is unwrapped, and values separated
+     * by line breaks are read one after another, so both request formats share one code path.
+     * Reading stops at the first row over {@link ItemConstant#MAX_IMPORT_ROWS}, so an oversized body is never held in memory.
+     */
+    private List<ItemDTO> readItems(InputStream body) {
+        try (MappingIterator<ItemDTO> rows = objectMapper.readerFor(ItemDTO.class).readValues(body)) {
+            List<ItemDTO> items = new ArrayList<>();
+            while (rows.hasNextValue()) {
+                if (items.size() == MAX_IMPORT_ROWS) {
+                    throw new BadRequestException("At most " + MAX_IMPORT_ROWS + " items can be imported at once");
+                }
+                items.add(rows.nextValue());
+            }
+            return items;
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Malformed item import: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model of a single item page: one row per comment (or a single row without comments),
+ * each repeating the item, its owner and its last and next bookings.
+ *
+ * @author Farukh
+ * @version 1.0
+ * @since 1.0
+ */
+public interface ItemDetailsView {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getRequestId();
+
+    Long getOwnerId();
+
+    String getOwnerName();
+
+    String getOwnerEmail();
+
+    Long getLastBookingId();
+
+    Long getLastBookerId();
+
+    Long getNextBookingId();
+
+    Long getNextBookerId();
+
+    Long getCommentId();
+
+    String getCommentText();
+
+    LocalDateTime getCommentCreated();
+
+    Long getAuthorId();
+
+    String getAuthorName();
+}
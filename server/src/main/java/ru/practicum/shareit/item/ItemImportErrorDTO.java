@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class ItemImportErrorDTO {
+
+    private Integer row;
+
+    private String message;
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(of = {"imported"})
+public class ItemImportResultDTO {
+
+    private Integer imported;
+
+    private List<Long> ids;
+
+    private List<ItemImportErrorDTO> errors;
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Mappings;
 
 import java.util.List;
 
@@ -17,4 +19,11 @@ public interface ItemMapper {
     List<ItemDTO> toListDTO(List<Item> modelList);
 
     List<Item> toItemList(List<ItemDTO> itemDTOList);
+
+    @Mappings({@Mapping(source = "ownerId", target = "owner.id"),
+            @Mapping(source = "ownerName", target = "owner.name"),
+            @Mapping(source = "ownerEmail", target = "owner.email")})
+    ItemDTO fromView(ItemView itemView);
+
+    List<ItemDTO> fromViews(List<ItemView> itemViews);
 }
@@ -1,12 +1,24 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    /**
+     * Selects the columns of {@link ItemView} from items joined with their owners.
+     */
+    String ITEM_VIEW = "SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available, " +
+            "i.requestId AS requestId, o.id AS ownerId, o.name AS ownerName, o.email AS ownerEmail " +
+            "FROM Item i JOIN i.owner o ";
 
     /**
      * Finds all items by the owner's ID and returns them in ascending order by ID.
@@ -14,35 +26,63 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
      * @param id the ID of the owner
      * @return a list of items owned by the owner, ordered by ID
      */
-    List<Item> findAllByOwnerIdOrderById(Long id, Pageable pageable);
+    @Query(ITEM_VIEW + "WHERE o.id = :id ORDER BY i.id")
+    List<ItemView> findAllByOwnerIdOrderById(Long id, Pageable pageable);
+
+    /**
+     * Finds the item and locks its row until the current transaction ends.
+     * Concurrent bookings of the same item queue up on this lock, bookings of other items are not affected.
+     *
+     * @param id the ID of the item
+     * @return the locked item, or empty if it does not exist
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findByIdForUpdate(Long id);
 
 
     /**
-     * Finds items by name or description and availability status.
+     * Finds available items whose name or description contains the given pattern.
+     * Items matching by name are ranked ahead of items matching only by description.
+     * On PostgreSQL both {@code LIKE} predicates are served by the trigram indexes from the
+     * {@code db/vendor/postgresql} migrations; other databases run the same query without them.
      *
-     * @param name        the name to search for (case-insensitive)
-     * @param description the description to search for (case-insensitive)
+     * @param name        the lower-case {@code LIKE} pattern matched against the name
+     * @param description the lower-case {@code LIKE} pattern matched against the description
      * @param offset      the offset for paginated results
      * @param limit       the maximum number of items to return
-     * @return a list of items matching the name or description and availability status, limited by the offset and limit parameters
+     * @return a list of available items matching the name or description, best matches first
      */
     @Query(nativeQuery = true,
-            value = "SELECT i.* " +
+            value = "SELECT i.id AS id, i.name AS name, i.description AS description, " +
+                    "i.is_available AS available, i.request_id AS requestId, " +
+                    "o.id AS ownerId, o.name AS ownerName, o.email AS ownerEmail " +
                     "FROM items i " +
-                    "WHERE LOWER(i.name) LIKE :name " +
-                    "OR LOWER(i.description) LIKE :description " +
-                    "AND i.is_available = true " +
+                    "JOIN users o ON o.id = i.owner_id " +
+                    "WHERE i.is_available = true " +
+                    "AND (LOWER(i.name) LIKE :name OR LOWER(i.description) LIKE :description) " +
+                    "ORDER BY CASE WHEN LOWER(i.name) LIKE :name THEN 0 ELSE 1 END, i.id " +
                     "LIMIT :limit " +
                     "OFFSET :offset")
-    List<Item> findByNameOrDescriptionAndAvailable(String name, String description, Integer offset, Integer limit);
+    List<ItemView> findByNameOrDescriptionAndAvailable(String name, String description, Integer offset, Integer limit);
 
     /**
      * Retrieves all items by request ID.
      *
      * @param id The ID of the request.
-     * @return A list of items matching the given request ID.
+     * @return A list of items matching the given request ID, ordered by ID.
      */
-    List<Item> findAllByRequestId(Long id);
+    @Query(ITEM_VIEW + "WHERE i.requestId = :id ORDER BY i.id")
+    List<ItemView> findAllByRequestId(Long id);
+
+    /**
+     * Retrieves the items offered in response to any of the given requests, with their owners, in a single query.
+     *
+     * @param requestIds the IDs of the requests
+     * @return the items found, ordered by ID
+     */
+    @Query(ITEM_VIEW + "WHERE i.requestId IN :requestIds ORDER BY i.id")
+    List<ItemView> findAllByRequestIdIn(Collection<Long> requestIds);
 
     /**
      * Finds all items owned by a specific user and with a specific request ID.
@@ -51,4 +91,70 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
      * @return A list of items matching the owner ID and request ID.
      */
     List<Item> findAllByOwner_IdAndRequestId(Long requestId, Long id);
-}
\ No newline at end of file
+
+    /**
+     * Retrieves a slice of all items without counting the total, used to load items in batches.
+     *
+     * @param pageable the page and sort of the batch
+     * @return a slice of items
+     */
+    Slice<Item> findAllBy(Pageable pageable);
+
+    /**
+     * Loads everything shown on an item page in a single statement: the item, its owner,
+     * the last and next non-rejected bookings relative to {@code now}, and the comments with their authors.
+     *
+     * @param itemId the ID of the item
+     * @param now    the moment separating the last booking from the next one
+     * @return one row per comment, newest first, or a single row with empty comment columns;
+     * an empty list if the item does not exist
+     */
+    @Query(nativeQuery = true,
+            value = "SELECT i.id AS id, i.name AS name, i.description AS description, " +
+                    "i.is_available AS available, i.request_id AS requestId, " +
+                    "o.id AS ownerId, o.name AS ownerName, o.email AS ownerEmail, " +
+                    "lb.id AS lastBookingId, lb.booker_id AS lastBookerId, " +
+                    "nb.id AS nextBookingId, nb.booker_id AS nextBookerId, " +
+                    "c.id AS commentId, c.text AS commentText, c.created AS commentCreated, " +
+                    "a.id AS authorId, a.name AS authorName " +
+                    "FROM items i " +
+                    "JOIN users o ON o.id = i.owner_id " +
+                    "LEFT JOIN bookings lb ON lb.id = (" +
+                    "SELECT b.id FROM bookings b " +
+                    "WHERE b.item_id = i.id AND b.start_date < :now AND b.status <> 'REJECTED' " +
+                    "ORDER BY b.start_date DESC LIMIT 1) " +
+                    "LEFT JOIN bookings nb ON nb.id = (" +
+                    "SELECT b.id FROM bookings b " +
+                    "WHERE b.item_id = i.id AND b.archived = false AND b.start_date > :now AND b.status <> 'REJECTED' " +
+                    "ORDER BY b.start_date ASC LIMIT 1) " +
+                    "LEFT JOIN comments c ON c.item_id = i.id " +
+                    "LEFT JOIN users a ON a.id = c.author_id " +
+                    "WHERE i.id = :itemId " +
+                    "ORDER BY c.created DESC, c.id DESC")
+    List<ItemDetailsView> findItemDetails(Long itemId, LocalDateTime now);
+
+    /**
+     * Finds the last and next approved booking of every given item relative to {@code now}.
+     * Each item is resolved by two {@code LIMIT 1} index probes, so the cost grows with the number
+     * of items and not with the length of their booking history.
+     *
+     * @param itemIds the IDs of the items
+     * @param now     the moment separating the last booking from the next one
+     * @return one row per existing item, with empty booking columns where there is no such booking
+     */
+    @Query(nativeQuery = true,
+            value = "SELECT i.id AS itemId, " +
+                    "lb.id AS lastBookingId, lb.booker_id AS lastBookerId, " +
+                    "nb.id AS nextBookingId, nb.booker_id AS nextBookerId " +
+                    "FROM items i " +
+                    "LEFT JOIN bookings lb ON lb.id = (" +
+                    "SELECT b.id FROM bookings b " +
+                    "WHERE b.item_id = i.id AND b.status = 'APPROVED' AND b.start_date < :now " +
+                    "ORDER BY b.start_date DESC LIMIT 1) " +
+                    "LEFT JOIN bookings nb ON nb.id = (" +
+                    "SELECT b.id FROM bookings b " +
+                    "WHERE b.item_id = i.id AND b.archived = false AND b.status = 'APPROVED' AND b.start_date > :now " +
+                    "ORDER BY b.start_date ASC LIMIT 1) " +
+                    "WHERE i.id IN (:itemIds)")
+    List<ItemBookingsView> findLastAndNextBookings(Collection<Long> itemIds, LocalDateTime now);
+}
@@ -0,0 +1,302 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over item names and descriptions.
+ * <p>
+ * Every query token is matched as a prefix of the indexed tokens, and an item matches
+ * when all query tokens do. Only available items are returned, name matches first, then by ID.
+ * The index is rebuilt from {@link ItemRepository} in the background once the application is ready
+ * and is kept current by {@link ItemServiceImpl} after each committed change. Until the first rebuild
+ * finishes {@link #isReady()} is {@code false} and searches should go to the database.
+ *
+ * @author Farukh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.index.enabled", havingValue = "true")
+public class ItemSearchIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final ItemRepository itemRepository;
+    private final ItemMapper itemMapper;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "item-search-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock rebuildLock = new ReentrantLock();
+    private final NavigableMap<String, Set<Long>> nameTerms = new TreeMap<>();
+    private final NavigableMap<String, Set<Long>> textTerms = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+    private final Set<Long> ownersRemovedDuringRebuild = new HashSet<>();
+    private volatile boolean ready;
+    private volatile boolean rebuilding;
+    private volatile Instant lastRebuildAt;
+    private volatile long lastRebuildMillis;
+    private volatile Instant lastUpdateAt;
+
+    public ItemSearchIndex(ItemRepository itemRepository, ItemMapper itemMapper) {
+        this.itemRepository = itemRepository;
+        this.itemMapper = itemMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuildExecutor.submit(this::rebuild);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * Reloads every item from the database. Searches fall back to the database while this runs.
+     * Items changed concurrently through {@link #put(ItemDTO)} or {@link #removeOwner(Long)} keep their newer state.
+     * Rebuilds run one at a time: a rebuild requested while another runs, say from the actuator endpoint during
+     * the startup rebuild, waits for it to finish and then reloads the index again.
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            reload();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void reload() {
+        log.debug("Rebuilding item search index");
+        long started = System.currentTimeMillis();
+
+        withWriteLock(() -> {
+            ready = false;
+            rebuilding = true;
+            nameTerms.clear();
+            textTerms.clear();
+            documents.clear();
+            changedDuringRebuild.clear();
+            ownersRemovedDuringRebuild.clear();
+        });
+        try {
+            Slice<Item> slice;
+            int page = 0;
+            do {
+                slice = itemRepository.findAllBy(PageRequest.of(page++, REBUILD_BATCH_SIZE, Sort.by("id")));
+                List<ItemDTO> batch = itemMapper.toListDTO(slice.getContent());
+                withWriteLock(() -> batch.stream()
+                        .filter(item -> !changedDuringRebuild.contains(item.getId()))
+                        .filter(item -> !ownersRemovedDuringRebuild.contains(ownerId(item)))
+                        .forEach(this::index));
+            } while (slice.hasNext());
+
+            lastRebuildMillis = System.currentTimeMillis() - started;
+            lastRebuildAt = Instant.now();
+            ready = true;
+            log.info("Item search index rebuilt with {} items in {} ms", documents.size(), lastRebuildMillis);
+        } catch (RuntimeException e) {
+            log.error("Item search index rebuild failed, search stays on the database", e);
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    /**
+     * Adds the item to the index or replaces its previous version.
+     *
+     * @param item the item as committed to the database
+     */
+    public void put(ItemDTO item) {
+        withWriteLock(() -> {
+            if (rebuilding) {
+                changedDuringRebuild.add(item.getId());
+            }
+            index(item);
+            lastUpdateAt = Instant.now();
+        });
+    }
+
+    /**
+     * Removes every item of the owner, mirroring the cascade when a user is deleted.
+     *
+     * @param ownerId the ID of the deleted owner
+     */
+    public void removeOwner(Long ownerId) {
+        withWriteLock(() -> {
+            if (rebuilding) {
+                ownersRemovedDuringRebuild.add(ownerId);
+            }
+            documents.values().stream()
+                    .filter(document -> ownerId.equals(ownerId(document.item)))
+                    .map(document -> document.item.getId())
+                    .collect(Collectors.toList())
+                    .forEach(this::remove);
+            lastUpdateAt = Instant.now();
+        });
+    }
+
+    /**
+     * Searches available items whose name or description contains words starting with every query token.
+     *
+     * @param text the search text
+     * @param from the number of matches to skip
+     * @param size the maximum number of matches to return
+     * @return matching items, name matches first, then by ID
+     */
+    public List<ItemDTO> search(String text, Integer from, Integer size) {
+        Set<String> tokens = tokenize(text);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Long> matches = intersect(textTerms, tokens);
+            Set<Long> nameMatches = intersect(nameTerms, tokens);
+            return matches.stream()
+                    .map(documents::get)
+                    .filter(document -> Boolean.TRUE.equals(document.item.getAvailable()))
+                    .sorted(Comparator.comparing((Document document) -> !nameMatches.contains(document.item.getId()))
+                            .thenComparing(document -> document.item.getId()))
+                    .skip(from)
+                    .limit(size)
+                    .map(document -> document.item.toBuilder().build())
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Describes the index for the {@code searchindex} actuator endpoint.
+     *
+     * @return size, rebuild and update timestamps of the index
+     */
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("ready", ready);
+            stats.put("rebuilding", rebuilding);
+            stats.put("documents", documents.size());
+            stats.put("terms", textTerms.size());
+            stats.put("lastRebuildAt", lastRebuildAt);
+            stats.put("lastRebuildMillis", lastRebuildMillis);
+            stats.put("lastUpdateAt", lastUpdateAt);
+            Instant lastChange = lastUpdateAt != null ? lastUpdateAt : lastRebuildAt;
+            stats.put("secondsSinceLastChange", lastChange == null ? null : Instant.now().getEpochSecond() - lastChange.getEpochSecond());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(ItemDTO item) {
+        remove(item.getId());
+
+        Document document = new Document(item.toBuilder().lastBooking(null).nextBooking(null).comments(null).build(),
+                tokenize(item.getName()), new HashSet<>(tokenize(item.getName())));
+        document.textTokens.addAll(tokenize(item.getDescription()));
+
+        documents.put(item.getId(), document);
+        document.nameTokens.forEach(token -> nameTerms.computeIfAbsent(token, key -> new HashSet<>()).add(item.getId()));
+        document.textTokens.forEach(token -> textTerms.computeIfAbsent(token, key -> new HashSet<>()).add(item.getId()));
+    }
+
+    private void remove(Long itemId) {
+        Document document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+        document.nameTokens.forEach(token -> removePosting(nameTerms, token, itemId));
+        document.textTokens.forEach(token -> removePosting(textTerms, token, itemId));
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Long>> terms, String token, Long itemId) {
+        Set<Long> postings = terms.get(token);
+        if (postings != null && postings.remove(itemId) && postings.isEmpty()) {
+            terms.remove(token);
+        }
+    }
+
+    private static Set<Long> intersect(NavigableMap<String, Set<Long>> terms, Set<String> tokens) {
+        Set<Long> result = null;
+        for (String token : tokens) {
+            Set<Long> postings = new HashSet<>();
+            terms.subMap(token, true, token + Character.MAX_VALUE, false).values().forEach(postings::addAll);
+            if (result == null) {
+                result = postings;
+            } else {
+                result.retainAll(postings);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result == null ? Collections.emptySet() : result;
+    }
+
+    private static Set<String> tokenize(String text) {
+        if (text == null) {
+            return Collections.emptySet();
+        }
+        return TOKEN_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static Long ownerId(ItemDTO item) {
+        return item.getOwner() == null ? null : item.getOwner().getId();
+    }
+
+    private static final class Document {
+        private final ItemDTO item;
+        private final Set<String> nameTokens;
+        private final Set<String> textTokens;
+
+        private Document(ItemDTO item, Set<String> nameTokens, Set<String> textTokens) {
+            this.item = item;
+            this.nameTokens = nameTokens;
+            this.textTokens = textTokens;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint reporting the size and freshness of the {@link ItemSearchIndex}.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "searchindex")
+@ConditionalOnProperty(name = "shareit.search.index.enabled", havingValue = "true")
+public class ItemSearchIndexEndpoint {
+    private final ItemSearchIndex itemSearchIndex;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return itemSearchIndex.stats();
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        itemSearchIndex.rebuild();
+        return itemSearchIndex.stats();
+    }
+}
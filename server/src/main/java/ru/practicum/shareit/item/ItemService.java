@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -19,6 +20,16 @@ public interface ItemService {
      */
     ItemDTO addItem(final Long userId, ItemDTO itemDTO);
 
+    /**
+     * Adds many items for the same owner at once. Rows failing validation are skipped and reported,
+     * the remaining rows are inserted in JDBC batches.
+     *
+     * @param userId the ID of the user who owns the items
+     * @param items  the items to add, in row order
+     * @return the IDs of the added items and the validation errors of the skipped rows
+     */
+    ItemImportResultDTO importItems(final Long userId, List<ItemDTO> items);
+
     /**
      * Updates the details of an existing item.
      *
@@ -52,4 +63,14 @@ public interface ItemService {
      * @return a list of items that match the criteria, each encapsulated in a {@link ItemDTO}
      */
     List<ItemDTO> getItemsByNameOrDescription(final String text, Integer from, Integer size);
+
+    /**
+     * Checks whether the item is free of waiting and approved bookings for the given interval.
+     *
+     * @param itemId the ID of the item
+     * @param start  the start of the interval
+     * @param end    the end of the interval
+     * @return the availability of the item and the earliest start of a free interval of the same length
+     */
+    ItemAvailabilityDTO getAvailability(final Long itemId, LocalDateTime start, LocalDateTime end);
 }
@@ -2,12 +2,11 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.Booking;
-import ru.practicum.shareit.booking.BookingMapperShortDTO;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingShortDTO;
 import ru.practicum.shareit.exception.BadRequestException;
@@ -16,17 +15,26 @@ import ru.practicum.shareit.user.UserDTO;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserRepository;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
-import static java.util.stream.Collectors.groupingBy;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static org.springframework.transaction.annotation.Isolation.READ_COMMITTED;
 import static org.springframework.transaction.annotation.Isolation.REPEATABLE_READ;
 import static org.springframework.transaction.annotation.Propagation.REQUIRED;
 import static ru.practicum.shareit.booking.BookingState.*;
+import static ru.practicum.shareit.item.ItemConstant.MAX_IMPORT_ROWS;
+import static ru.practicum.shareit.utils.Marker.OnCreate;
+import static ru.practicum.shareit.utils.TransactionHooks.afterCommit;
 
 
 @Slf4j
@@ -41,7 +49,9 @@ public class ItemServiceImpl implements ItemService, CommentService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final CommentMapper commentMapper;
-    private final BookingMapperShortDTO bookingMapperShortDTO;
+    private final ObjectProvider<ItemSearchIndex> itemSearchIndex;
+    private final ItemAvailabilityCalendar availabilityCalendar;
+    private final Validator validator;
 
 
     @Transactional
@@ -51,11 +61,48 @@ public class ItemServiceImpl implements ItemService, CommentService {
 
         itemDTO.setOwner(findUserById(userId));
         ItemDTO savedItem = itemMapper.toDTO(itemRepository.save(itemMapper.toModel(itemDTO)));
+        itemSearchIndex.ifAvailable(index -> afterCommit(() -> index.put(savedItem)));
 
         log.info("New item added with ID: {}", savedItem.getId());
         return savedItem;
     }
 
+    @Transactional
+    @Override
+    public ItemImportResultDTO importItems(Long userId, List<ItemDTO> items) {
+        log.debug("Starting importItems operation of {} rows for user ID: {}", items.size(), userId);
+
+        if (items.size() > MAX_IMPORT_ROWS) {
+            log.warn("Import of {} rows exceeds the limit of {}", items.size(), MAX_IMPORT_ROWS);
+            throw new BadRequestException("At most " + MAX_IMPORT_ROWS + " items can be imported at once");
+        }
+        UserDTO owner = findUserById(userId);
+
+        List<Item> validItems = new ArrayList<>();
+        List<ItemImportErrorDTO> errors = new ArrayList<>();
+        for (int row = 0; row < items.size(); row++) {
+            ItemDTO itemDTO = items.get(row);
+            String error = validateImportRow(itemDTO);
+            if (error != null) {
+                errors.add(ItemImportErrorDTO.builder().row(row).message(error).build());
+                continue;
+            }
+            itemDTO.setId(null);
+            itemDTO.setOwner(owner);
+            validItems.add(itemMapper.toModel(itemDTO));
+        }
+
+        List<ItemDTO> savedItems = itemMapper.toListDTO(itemRepository.saveAll(validItems));
+        itemSearchIndex.ifAvailable(index -> afterCommit(() -> savedItems.forEach(index::put)));
+
+        log.info("Imported {} items for user ID: {}, {} rows rejected", savedItems.size(), userId, errors.size());
+        return ItemImportResultDTO.builder()
+                .imported(savedItems.size())
+                .ids(savedItems.stream().map(ItemDTO::getId).collect(toList()))
+                .errors(errors)
+                .build();
+    }
+
     @Transactional
     @Override
     public ItemDTO updateItem(Long userId, Long itemId, ItemDTO itemDTO) {
@@ -66,36 +113,48 @@ public class ItemServiceImpl implements ItemService, CommentService {
         verifyOwnership(userId, item);
 
         mapItemDetails(item, itemDTO);
-        Item updatedItem = itemRepository.save(item);
+        ItemDTO updatedItem = itemMapper.toDTO(itemRepository.save(item));
+        itemSearchIndex.ifAvailable(index -> afterCommit(() -> index.put(updatedItem)));
         log.info("Item ID: {} updated by user ID: {}", itemId, userId);
 
-        return itemMapper.toDTO(updatedItem);
+        return updatedItem;
     }
 
     @Override
     public ItemDTO findItemById(Long itemId, Long userId) {
         log.debug("Attempting to find item by ID: {} for user ID: {}", itemId, userId);
 
-        LocalDateTime now = LocalDateTime.now();
-        ItemDTO responseItem = findItemById(itemId);
-
-        List<CommentDTO> comments = commentMapper.toDTOList(commentRepository.findByItem_IdOrderByCreatedDesc(itemId));
-        log.debug("Number of comments loaded: {}", comments.size());
-
-        if (!responseItem.getOwner().getId().equals(userId)) {
-            responseItem.setComments(comments);
-            log.debug("User ID: {} is not the item owner. Only comments set.", userId);
-        } else {
-            BookingShortDTO lastBooking = bookingMapperShortDTO.toDTO(
-                    bookingRepository.findFirstByItem_IdAndStartIsBeforeAndStatusIsNotOrderByStartDesc(itemId, now, REJECTED)
-                            .orElse(null));
-            BookingShortDTO nextBooking = bookingMapperShortDTO.toDTO(
-                    bookingRepository.findFirstByItem_IdAndStartIsAfterAndStatusIsNotOrderByStartAsc(itemId, now, REJECTED)
-                            .orElse(null));
-
-            responseItem.setLastBooking(lastBooking);
-            responseItem.setNextBooking(nextBooking);
-            responseItem.setComments(comments);
+        List<ItemDetailsView> rows = itemRepository.findItemDetails(itemId, LocalDateTime.now());
+        if (rows.isEmpty()) {
+            log.error("Item not found with ID: {}", itemId);
+            throw new NotFoundException("Item not found.");
+        }
+
+        ItemDetailsView row = rows.get(0);
+        ItemDTO responseItem = ItemDTO.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .description(row.getDescription())
+                .available(row.getAvailable())
+                .requestId(row.getRequestId())
+                .owner(UserDTO.builder().id(row.getOwnerId()).name(row.getOwnerName()).email(row.getOwnerEmail()).build())
+                .comments(rows.stream()
+                        .filter(comment -> comment.getCommentId() != null)
+                        .map(comment -> CommentDTO.builder()
+                                .id(comment.getCommentId())
+                                .text(comment.getCommentText())
+                                .authorId(comment.getAuthorId())
+                                .authorName(comment.getAuthorName())
+                                .itemId(itemId)
+                                .created(comment.getCommentCreated())
+                                .build())
+                        .collect(toList()))
+                .build();
+        log.debug("Number of comments loaded: {}", responseItem.getComments().size());
+
+        if (row.getOwnerId().equals(userId)) {
+            responseItem.setLastBooking(toBookingShortDTO(row.getLastBookingId(), row.getLastBookerId()));
+            responseItem.setNextBooking(toBookingShortDTO(row.getNextBookingId(), row.getNextBookerId()));
             log.debug("Full item details set for the owner with user ID: {}", userId);
         }
 
@@ -109,17 +168,26 @@ public class ItemServiceImpl implements ItemService, CommentService {
 
         Pageable pageable = PageRequest.of(from, size);
 
-        List<ItemDTO> items = itemMapper.toListDTO(itemRepository.findAllByOwnerIdOrderById(userId, pageable));
+        List<ItemDTO> items = itemMapper.fromViews(itemRepository.findAllByOwnerIdOrderById(userId, pageable));
+        if (items.isEmpty()) {
+            log.info("Number of items retrieved: 0");
+            return items;
+        }
 
-        Map<Long, List<Booking>> bookings = bookingRepository.findAllByItemInAndStatusOrderByStartAsc(itemMapper.toItemList(items), APPROVED, pageable).stream()
-                .collect(groupingBy(x -> x.getItem().getId(), toList()));
+        Map<Long, ItemBookingsView> bookings = itemRepository.findLastAndNextBookings(
+                        items.stream().map(ItemDTO::getId).collect(toList()), LocalDateTime.now()).stream()
+                .collect(toMap(ItemBookingsView::getItemId, identity()));
 
-        List<ItemDTO> collect = items.stream()
-                .map(x -> updateItemDTOWithBookings(x, bookings.get(x.getId())))
-                .collect(toList());
+        items.forEach(item -> {
+            ItemBookingsView itemBookings = bookings.get(item.getId());
+            if (itemBookings != null) {
+                item.setLastBooking(toBookingShortDTO(itemBookings.getLastBookingId(), itemBookings.getLastBookerId()));
+                item.setNextBooking(toBookingShortDTO(itemBookings.getNextBookingId(), itemBookings.getNextBookerId()));
+            }
+        });
 
-        log.info("Number of items retrieved: {}", collect.size());
-        return collect;
+        log.info("Number of items retrieved: {}", items.size());
+        return items;
     }
 
     @Override
@@ -131,12 +199,50 @@ public class ItemServiceImpl implements ItemService, CommentService {
             return Collections.emptyList();
         }
 
-        String searchWord = "%" + text.toLowerCase() + "%";
-        List<ItemDTO> items = itemMapper.toListDTO(itemRepository.findByNameOrDescriptionAndAvailable(searchWord, searchWord, from, size));
+        ItemSearchIndex index = itemSearchIndex.getIfAvailable();
+        if (index != null && index.isReady()) {
+            List<ItemDTO> items = index.search(text, from, size);
+            log.info("Number of items retrieved from the search index: {}", items.size());
+            return items;
+        }
+
+        String searchWord = "%" + escapeLikePattern(text.toLowerCase()) + "%";
+        List<ItemDTO> items = itemMapper.fromViews(itemRepository.findByNameOrDescriptionAndAvailable(searchWord, searchWord, from, size));
         log.info("Number of items retrieved by name or description: {}", items.size());
         return items;
     }
 
+    /**
+     * Runs with {@code READ_COMMITTED} because a calendar loaded here must include every booking
+     * committed before the load, see {@link ItemAvailabilityCalendar#nextFreeStart}.
+     */
+    @Transactional(readOnly = true, isolation = READ_COMMITTED)
+    @Override
+    public ItemAvailabilityDTO getAvailability(Long itemId, LocalDateTime start, LocalDateTime end) {
+        log.debug("Checking availability of item ID: {} from {} to {}", itemId, start, end);
+
+        if (!end.isAfter(start)) {
+            log.warn("Invalid availability period from {} to {}", start, end);
+            throw new BadRequestException("Availability period is invalid");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            log.error("Item not found with ID: {}", itemId);
+            throw new NotFoundException("Item not found.");
+        }
+
+        LocalDateTime nextAvailableStart = availabilityCalendar.nextFreeStart(itemId, start, end);
+        ItemAvailabilityDTO availability = ItemAvailabilityDTO.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .available(nextAvailableStart.equals(start))
+                .nextAvailableStart(nextAvailableStart)
+                .build();
+
+        log.info("Item ID: {} available from {}: {}", itemId, start, availability.getAvailable());
+        return availability;
+    }
+
     @Transactional
     @Override
     public CommentDTO addComment(Long userId, Long itemId, CommentDTO commentDTO) {
@@ -164,6 +270,20 @@ public class ItemServiceImpl implements ItemService, CommentService {
         }));
     }
 
+    private String validateImportRow(ItemDTO itemDTO) {
+        if (itemDTO == null) {
+            return "Item cannot be null";
+        }
+        Set<ConstraintViolation<ItemDTO>> violations = validator.validate(itemDTO, OnCreate.class);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(joining("; "));
+    }
+
     private UserDTO findUserById(Long userId) {
         return userMapper.toDTO(userRepository.findById(userId).orElseThrow(() -> {
             log.error("User not found with ID: {}", userId);
@@ -191,38 +311,26 @@ public class ItemServiceImpl implements ItemService, CommentService {
         }
     }
 
-    private ItemDTO updateItemDTOWithBookings(ItemDTO itemDTO, List<Booking> bookings) {
-        if (bookings == null) {
-            return itemDTO;
-        }
-
-        LocalDateTime now = LocalDateTime.now();
-
-        Booking lastBooking = (bookings.stream()
-                .filter(booking -> booking.getStart().isBefore(now))
-                .max(Comparator.comparing(Booking::getEnd))
-                .orElse(null));
-
-        Booking nextBooking = bookings.stream()
-                .filter(booking -> booking.getStart().isAfter(now))
-                .min(Comparator.comparing(Booking::getStart))
-                .orElse(null);
-
-
-        if (lastBooking != null) {
-            itemDTO.setLastBooking(bookingMapperShortDTO.toDTO(lastBooking));
-        }
-
-        if (lastBooking != null) {
-            itemDTO.setNextBooking(bookingMapperShortDTO.toDTO(nextBooking));
-        }
-        return itemDTO;
-    }
-
     private void validateComment(Long userId, Long itemId) {
         if (!bookingRepository.existsByBookerIdAndItem_IdAndStatusInAndEndBefore(userId, itemId,
                 List.of(APPROVED, CANCELED), LocalDateTime.now())) {
             throw new BadRequestException("Booking already in progress");
         }
     }
-}
\ No newline at end of file
+
+    private static BookingShortDTO toBookingShortDTO(Long bookingId, Long bookerId) {
+        if (bookingId == null) {
+            return null;
+        }
+        BookingShortDTO booking = new BookingShortDTO();
+        booking.setId(bookingId);
+        booking.setBookerId(bookerId);
+        return booking;
+    }
+
+    private static String escapeLikePattern(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item;
+
+/**
+ * Read-only row of an item listing: the item with the columns of its owner, selected in one query
+ * without loading any entity.
+ *
+ * @author Farukh
+ * @version 1.0
+ * @since 1.0
+ */
+public interface ItemView {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getRequestId();
+
+    Long getOwnerId();
+
+    String getOwnerName();
+
+    String getOwnerEmail();
+}
@@ -2,7 +2,9 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.utils.KeysetCursor;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
@@ -11,6 +13,8 @@ import java.util.List;
 import static ru.practicum.shareit.item.ItemConstant.X_SHARER_USER_ID;
 import static ru.practicum.shareit.utils.Constant.LIMIT;
 import static ru.practicum.shareit.utils.Constant.INITIAL_X;
+import static ru.practicum.shareit.utils.Constant.X_NEXT_CURSOR;
+import static ru.practicum.shareit.utils.Constant.X_TOTAL_COUNT;
 
 @RestController
 @RequiredArgsConstructor
@@ -35,30 +39,62 @@ public class RequestController {
 
     /**
      * Retrieves a list of RequestDTOResponse objects for the given user ID.
+     * The number of all requests of the user is counted only when {@code total} is set,
+     * and is then returned in the {@code X-Total-Count} header.
      *
      * @param userId the ID of the user making the request
+     * @param total  whether to return the total number of requests (optional)
      * @return a list of RequestDTOResponse objects
      */
     @GetMapping
-    public List<RequestDTOResponse> getRequests(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
-                                                @Positive @RequestParam(defaultValue = LIMIT) Integer size) {
-        return requestService.getRequestsDTO(userId, from, size);
+    public ResponseEntity<List<RequestDTOResponse>> getRequests(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                                @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
+                                                                @Positive @RequestParam(defaultValue = LIMIT) Integer size,
+                                                                @RequestParam(defaultValue = "false") boolean total) {
+        List<RequestDTOResponse> requests = requestService.getRequestsDTO(userId, from, size);
+        if (!total) {
+            return ResponseEntity.ok(requests);
+        }
+        return ResponseEntity.ok()
+                .header(X_TOTAL_COUNT, String.valueOf(requestService.countRequests(userId)))
+                .body(requests);
     }
 
     /**
      * Retrieves all requests based on the given parameters.
+     * When {@code after} is present the requests are returned newest first and paged by cursor instead of offset:
+     * an empty value starts from the newest request, and every full page carries the cursor of the next one
+     * in the {@code X-Next-Cursor} header. The number of all requests of other users is counted only when
+     * {@code total} is set, and is then returned in the {@code X-Total-Count} header.
      *
      * @param userId The user ID.
      * @param from   The starting index of the result set. (optional)
      * @param size   The maximum number of requests to retrieve. (optional)
+     * @param after  The cursor received with the previous page. (optional)
+     * @param total  Whether to return the total number of requests. (optional)
      * @return A list of RequestDTOResponse objects.
      */
     @GetMapping("/all")
-    public List<RequestDTOResponse> getAllRequests(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                   @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
-                                                   @Positive @RequestParam(defaultValue = LIMIT) Integer size) {
-        return requestService.getAllRequestsPagableDTO(userId, from, size);
+    public ResponseEntity<List<RequestDTOResponse>> getAllRequests(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                                   @Positive @RequestParam(defaultValue = INITIAL_X) Integer from,
+                                                                   @Positive @RequestParam(defaultValue = LIMIT) Integer size,
+                                                                   @RequestParam(required = false) String after,
+                                                                   @RequestParam(defaultValue = "false") boolean total) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        List<RequestDTOResponse> requests;
+        if (after == null) {
+            requests = requestService.getAllRequestsPagableDTO(userId, from, size);
+        } else {
+            requests = requestService.getRequestFeed(userId, KeysetCursor.decode(after), size);
+            if (!requests.isEmpty() && requests.size() == size) {
+                RequestDTOResponse last = requests.get(requests.size() - 1);
+                response.header(X_NEXT_CURSOR, KeysetCursor.of(last.getCreated(), last.getId()).encode());
+            }
+        }
+        if (total) {
+            response.header(X_TOTAL_COUNT, String.valueOf(requestService.countOtherRequests(userId)));
+        }
+        return response.body(requests);
     }
 
     /**
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.request;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Newest requests of all users, shared by every reader of the first page of the request feed.
+ * <p>
+ * Only the requests themselves are kept, not the items offered for them, so the cache changes only when requests
+ * are created or deleted. {@link RequestServiceImpl} and {@link ru.practicum.shareit.user.UserServiceImpl}
+ * invalidate it after such changes commit. A load that overlaps an invalidation is returned to its caller
+ * but not kept, so a snapshot taken before a commit never outlives the invalidation that follows it.
+ *
+ * @author Farukh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestFeedCache {
+    /**
+     * Number of newest requests kept; first pages that need more, after the reader's own requests are skipped,
+     * are read from the database.
+     */
+    public static final int SIZE = 100;
+
+    private final RequestRepository requestRepository;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * Returns the newest requests, newest first, loading them when the cache is empty.
+     * Must be the first read of the calling transaction, so that a load never sees data older than the last invalidation.
+     *
+     * @return the snapshot of the newest requests
+     */
+    public Snapshot newest() {
+        long loadGeneration = generation.get();
+        Snapshot cached = snapshot.get();
+        if (cached != null && cached.generation == loadGeneration) {
+            return cached;
+        }
+
+        log.debug("Loading the {} newest requests", SIZE);
+        List<Entry> entries = requestRepository.findNewest(PageRequest.of(0, SIZE)).stream()
+                .map(request -> new Entry(request.getId(), request.getDescription(), request.getCreated(),
+                        request.getRequestor().getId()))
+                .collect(toList());
+        Snapshot loaded = new Snapshot(loadGeneration, entries, entries.size() == SIZE);
+        if (generation.get() == loadGeneration) {
+            snapshot.set(loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the cached requests. Call after a transaction that created or deleted requests has committed.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot.set(null);
+    }
+
+    /**
+     * The newest requests at one moment.
+     */
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Snapshot {
+        private final long generation;
+        private final List<Entry> entries;
+        /**
+         * Whether older requests may exist beyond the entries.
+         */
+        private final boolean truncated;
+    }
+
+    /**
+     * A cached request, with the ID of its requestor in place of the user.
+     */
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Entry {
+        private final Long id;
+        private final String description;
+        private final LocalDateTime created;
+        private final Long requestorId;
+    }
+}
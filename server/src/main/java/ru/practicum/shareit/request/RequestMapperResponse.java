@@ -12,4 +12,8 @@ public interface RequestMapperResponse {
     Request toModel(RequestDTOResponse userDTO);
 
     List<RequestDTOResponse> toDTOList(List<Request> modelList);
+
+    RequestDTOResponse fromView(RequestView requestView);
+
+    List<RequestDTOResponse> fromViews(List<RequestView> requestViews);
 }
@@ -1,8 +1,12 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * The RequestRepository interface extends the JpaRepository interface and provides methods for accessing and manipulating {@link Request} entities in the database.
@@ -13,19 +17,73 @@ import org.springframework.data.jpa.repository.JpaRepository;
 public interface RequestRepository extends JpaRepository<Request, Long> {
     /**
      * Finds all requests with the given requestor ID.
+     * Returns a {@link Slice} so that no count query is issued; use {@link #countByRequestor_Id} for the total.
+     * Only the columns of {@link RequestView} are selected.
      *
      * @param id       the ID of the requestor
      * @param pageable the pageable information for pagination and sorting
-     * @return a {@link Page} of {@link Request} objects representing the requests found
+     * @return a {@link Slice} of {@link RequestView} objects representing the requests found
      */
-    Page<Request> findAllByRequestor_Id(Long id, Pageable pageable);
+    Slice<RequestView> findAllByRequestor_Id(Long id, Pageable pageable);
 
     /**
-     * Retrieves a page of Request entities where the ID of the requestor is not equal to the specified ID.
+     * Retrieves a slice of Request entities where the ID of the requestor is not equal to the specified ID.
+     * Returns a {@link Slice} so that no count query is issued; use {@link #countByRequestor_IdNot} for the total.
+     * Only the columns of {@link RequestView} are selected, so the requestors are not loaded.
      *
      * @param id       the ID of the requestor to exclude
      * @param pageable the pagination information
-     * @return a page of Request entities where the ID of the requestor is not equal to the specified ID
+     * @return a slice of requests where the ID of the requestor is not equal to the specified ID
+     */
+    Slice<RequestView> findAllByRequestor_IdNot(Long id, Pageable pageable);
+
+    /**
+     * Counts the requests with the given requestor ID.
+     *
+     * @param id the ID of the requestor
+     * @return the number of requests of the requestor
+     */
+    long countByRequestor_Id(Long id);
+
+    /**
+     * Counts the requests of users other than the given one.
+     *
+     * @param id the ID of the requestor to exclude
+     * @return the number of requests of all other users
+     */
+    long countByRequestor_IdNot(Long id);
+
+    /**
+     * Finds the newest requests of all users, with their requestors.
+     *
+     * @param pageable the number of requests to return
+     * @return the requests ordered by creation time and ID, both descending
+     */
+    @Query("SELECT r FROM Request r JOIN FETCH r.requestor ORDER BY r.created DESC, r.id DESC")
+    List<Request> findNewest(Pageable pageable);
+
+    /**
+     * Finds the newest requests of users other than the given one, with their requestors.
+     *
+     * @param userId   the ID of the user whose requests are skipped
+     * @param pageable the number of requests to return
+     * @return the requests ordered by creation time and ID, both descending
+     */
+    @Query("SELECT r FROM Request r JOIN FETCH r.requestor " +
+            "WHERE r.requestor.id <> :userId ORDER BY r.created DESC, r.id DESC")
+    List<Request> findFeed(Long userId, Pageable pageable);
+
+    /**
+     * Finds the requests of users other than the given one that follow the given request in the feed order.
+     *
+     * @param userId   the ID of the user whose requests are skipped
+     * @param created  the creation time of the last request already returned
+     * @param id       the ID of the last request already returned
+     * @param pageable the number of requests to return
+     * @return the requests ordered by creation time and ID, both descending
      */
-    Page<Request> findAllByRequestor_IdNot(Long id, Pageable pageable);
+    @Query("SELECT r FROM Request r JOIN FETCH r.requestor " +
+            "WHERE r.requestor.id <> :userId AND (r.created < :created OR (r.created = :created AND r.id < :id)) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<Request> findFeedAfter(Long userId, LocalDateTime created, Long id, Pageable pageable);
 }
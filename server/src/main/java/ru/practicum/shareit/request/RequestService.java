@@ -1,5 +1,7 @@
 package ru.practicum.shareit.request;
 
+import ru.practicum.shareit.utils.KeysetCursor;
+
 import java.util.List;
 
 /**
@@ -34,6 +36,34 @@ public interface RequestService {
      */
     List<RequestDTOResponse> getAllRequestsPagableDTO(Long userId, Integer from, Integer size);
 
+    /**
+     * Counts the requests of the given user, for clients that ask for the total of {@link #getRequestsDTO}.
+     *
+     * @param userId the ID of the user
+     * @return the number of requests of the user
+     */
+    long countRequests(Long userId);
+
+    /**
+     * Counts the requests of users other than the given one,
+     * for clients that ask for the total of {@link #getAllRequestsPagableDTO}.
+     *
+     * @param userId the ID of the user whose requests are skipped
+     * @return the number of requests of all other users
+     */
+    long countOtherRequests(Long userId);
+
+    /**
+     * Retrieves the requests of other users, newest first, that follow the given cursor.
+     * The first page is served from {@link RequestFeedCache} whenever it holds enough requests.
+     *
+     * @param userId the ID of the user reading the feed
+     * @param cursor the position of the last request the client has already received
+     * @param size   the maximum number of requests to return
+     * @return the requests with the items offered for them
+     */
+    List<RequestDTOResponse> getRequestFeed(Long userId, KeysetCursor cursor, Integer size);
+
     /**
      * Retrieves a specific request by its ID.
      *
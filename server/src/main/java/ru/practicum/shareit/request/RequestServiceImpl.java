@@ -13,14 +13,17 @@ import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.UserDTO;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.utils.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.springframework.transaction.annotation.Isolation.REPEATABLE_READ;
 import static org.springframework.transaction.annotation.Propagation.REQUIRED;
+import static ru.practicum.shareit.utils.TransactionHooks.afterCommit;
 
 @Slf4j
 @Service
@@ -34,6 +37,7 @@ public class RequestServiceImpl implements RequestService {
     private final UserMapper userMapper;
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
+    private final RequestFeedCache feedCache;
 
     @Transactional
     @Override
@@ -45,6 +49,7 @@ public class RequestServiceImpl implements RequestService {
         requestDTO.setRequestor(userMapper.toModel(userDTO));
         requestDTO.setCreated(LocalDateTime.now());
         RequestDTOResponse responseDTO = requestMapperResponse.toDTO(requestRepository.save(requestMapper.toModel(requestDTO)));
+        afterCommit(feedCache::invalidate);
 
         log.info("RequestDTOResponse created with created date set to now: {}", responseDTO);
         return responseDTO;
@@ -57,10 +62,9 @@ public class RequestServiceImpl implements RequestService {
 
         Pageable pageable = PageRequest.of(from, size);
 
-        List<RequestDTOResponse> dtoList = requestMapperResponse.toDTOList(requestRepository.findAllByRequestor_Id(userId, pageable).getContent());
-        List<ItemDTO> listDTO = itemMapper.toListDTO(itemRepository.findAllByRequestId(userId));
+        List<RequestDTOResponse> dtoList = requestMapperResponse.fromViews(requestRepository.findAllByRequestor_Id(userId, pageable).getContent());
 
-        List<RequestDTOResponse> collect = getListRequestDTOWithItems(dtoList, listDTO);
+        List<RequestDTOResponse> collect = getListRequestDTOWithItems(dtoList);
 
         log.info("Returning {} request(s) for user ID: {}", dtoList.size(), userId);
         return collect;
@@ -71,18 +75,39 @@ public class RequestServiceImpl implements RequestService {
         log.debug("Fetching requests for user ID: {} from page {} with size {}", userId, from, size);
 
         Pageable pageable = PageRequest.of(from, size);
-        List<RequestDTOResponse> list = requestMapperResponse.toDTOList(requestRepository.findAllByRequestor_IdNot(userId, pageable).getContent());
+        List<RequestDTOResponse> list = requestMapperResponse.fromViews(requestRepository.findAllByRequestor_IdNot(userId, pageable).getContent());
 
-        Long first = list.stream()
-                .map(RequestDTOResponse::getId)
-                .findFirst()
-                .orElse(null);
+        List<RequestDTOResponse> collect = getListRequestDTOWithItems(list);
 
-        List<ItemDTO> allByOwnerId = itemMapper.toListDTO(itemRepository.findAllByOwner_IdAndRequestId(userId, first));
+        log.info("Returning {} request(s) for user id: {}", list.size(), userId);
+        return collect;
+    }
 
-        List<RequestDTOResponse> collect = getListRequestDTOWithItems(list, allByOwnerId);
+    @Override
+    public long countRequests(Long userId) {
+        return requestRepository.countByRequestor_Id(userId);
+    }
 
-        log.info("Returning {} request(s) for user id: {}", list.size(), userId);
+    @Override
+    public long countOtherRequests(Long userId) {
+        return requestRepository.countByRequestor_IdNot(userId);
+    }
+
+    @Override
+    public List<RequestDTOResponse> getRequestFeed(Long userId, KeysetCursor cursor, Integer size) {
+        log.debug("Fetching request feed for user ID: {} after {} with size {}", userId, cursor, size);
+
+        List<RequestDTOResponse> page = cursor.isFirst() ? getCachedFirstPage(userId, size) : null;
+        findUserDTO(userId);
+        if (page == null) {
+            Pageable pageable = PageRequest.of(0, size);
+            page = requestMapperResponse.toDTOList(cursor.isFirst()
+                    ? requestRepository.findFeed(userId, pageable)
+                    : requestRepository.findFeedAfter(userId, cursor.getTimestamp(), cursor.getId(), pageable));
+        }
+        List<RequestDTOResponse> collect = getListRequestDTOWithItems(page);
+
+        log.info("Returning {} feed request(s) for user ID: {}", collect.size(), userId);
         return collect;
     }
 
@@ -95,7 +120,7 @@ public class RequestServiceImpl implements RequestService {
                 .orElseThrow(() -> new NotFoundException("Request not found")));
         log.debug("Request with id: {} converted to DTO", requestId);
 
-        List<ItemDTO> listDTO = itemMapper.toListDTO(itemRepository.findAllByRequestId(requestId));
+        List<ItemDTO> listDTO = itemMapper.fromViews(itemRepository.findAllByRequestId(requestId));
         requestMapperResponseDTO.setItems(listDTO);
         log.debug("Items for request id: {} retrieved and set", requestId);
 
@@ -110,9 +135,37 @@ public class RequestServiceImpl implements RequestService {
         }));
     }
 
-    private List<RequestDTOResponse> getListRequestDTOWithItems(List<RequestDTOResponse> dtoList, List<ItemDTO> itemDTOS) {
+    /**
+     * Reads the cache before anything else in the transaction, as {@link RequestFeedCache#newest()} requires.
+     * Returns {@code null} when the cached requests of other users cannot fill the page.
+     */
+    private List<RequestDTOResponse> getCachedFirstPage(Long userId, Integer size) {
+        RequestFeedCache.Snapshot newest = feedCache.newest();
+        List<RequestDTOResponse> page = newest.getEntries().stream()
+                .filter(entry -> !entry.getRequestorId().equals(userId))
+                .limit(size)
+                .map(entry -> RequestDTOResponse.builder()
+                        .id(entry.getId())
+                        .description(entry.getDescription())
+                        .created(entry.getCreated())
+                        .build())
+                .collect(Collectors.toList());
+        return page.size() == size || !newest.isTruncated() ? page : null;
+    }
+
+    /**
+     * Attaches to every request the items offered in response to it, loaded for the whole page in one query.
+     */
+    private List<RequestDTOResponse> getListRequestDTOWithItems(List<RequestDTOResponse> dtoList) {
+        if (dtoList.isEmpty()) {
+            return dtoList;
+        }
+        List<Long> requestIds = dtoList.stream().map(RequestDTOResponse::getId).collect(Collectors.toList());
+        Map<Long, List<ItemDTO>> itemsByRequest = itemMapper.fromViews(itemRepository.findAllByRequestIdIn(requestIds)).stream()
+                .collect(Collectors.groupingBy(ItemDTO::getRequestId));
+
         return dtoList.stream()
-                .peek(x -> x.setItems(itemDTOS != null ? itemDTOS : Collections.emptyList()))
+                .peek(x -> x.setItems(itemsByRequest.getOrDefault(x.getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
     }
 }
\ No newline at end of file
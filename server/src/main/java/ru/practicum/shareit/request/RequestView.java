@@ -0,0 +1,20 @@
+package ru.practicum.shareit.request;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row of a request listing with the columns {@link RequestDTOResponse} returns;
+ * the requestor is not loaded.
+ *
+ * @author Farukh
+ * @version 1.0
+ * @since 1.0
+ */
+public interface RequestView {
+
+    Long getId();
+
+    String getDescription();
+
+    LocalDateTime getCreated();
+}
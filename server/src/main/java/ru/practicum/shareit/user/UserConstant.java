@@ -6,4 +6,6 @@ import lombok.experimental.UtilityClass;
 public final class UserConstant {
     public static final String REGEX_LOGIN = "^\\S*$";
     public static final String REGEX_EMAIL = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$";
-}
\ No newline at end of file
+
+    public static final String USERS_CACHE = "users";
+}
@@ -2,10 +2,13 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
+import static ru.practicum.shareit.utils.Constant.X_TOTAL_COUNT;
+
 
 /**
  * The UserController class handles HTTP requests related to user operations.
@@ -67,12 +70,22 @@ public class UserController {
 
     /**
      * Retrieves a list of all users in the application.
+     * The number of all users is counted only when {@code total} is set,
+     * and is then returned in the {@code X-Total-Count} header.
      *
+     * @param total whether to return the total number of users
      * @return a list of all users, each represented as a {@link UserDTO}
      */
     @GetMapping
-    public List<UserDTO> getAll(@RequestParam Integer from,
-                                @RequestParam Integer size) {
-        return userService.getAll(from, size);
+    public ResponseEntity<List<UserDTO>> getAll(@RequestParam Integer from,
+                                                @RequestParam Integer size,
+                                                @RequestParam(defaultValue = "false") boolean total) {
+        List<UserDTO> users = userService.getAll(from, size);
+        if (!total) {
+            return ResponseEntity.ok(users);
+        }
+        return ResponseEntity.ok()
+                .header(X_TOTAL_COUNT, String.valueOf(userService.countUsers()))
+                .body(users);
     }
 }
\ No newline at end of file
@@ -1,12 +1,39 @@
 package ru.practicum.shareit.user;
 
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Optional;
+
+import static ru.practicum.shareit.user.UserConstant.USERS_CACHE;
+
 /**
  * Interface for basic user repository operations.
  * It allows for retrieving User entities by ID, fetching all Users,
  * and checking for existence by email and ID.
  */
 public interface UserRepository extends JpaRepository<User, Long> {
-}
\ No newline at end of file
+
+    /**
+     * Retrieves a user by ID through the {@code users} cache.
+     * The cached instance is shared and detached, so callers must not modify it;
+     * {@link UserServiceImpl} evicts the entry when the user is updated or deleted.
+     *
+     * @param id the ID of the user
+     * @return the user, or an empty Optional if there is no such user
+     */
+    @Override
+    @Cacheable(cacheNames = USERS_CACHE, unless = "#result == null")
+    Optional<User> findById(Long id);
+
+    /**
+     * Retrieves a slice of users without counting all of them, unlike {@link #findAll(Pageable)}.
+     *
+     * @param pageable the pagination and sorting information
+     * @return the users of the requested slice
+     */
+    Slice<User> findAllBy(Pageable pageable);
+}
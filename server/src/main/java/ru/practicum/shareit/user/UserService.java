@@ -48,6 +48,13 @@ public interface UserService {
      */
     List<UserDTO> getAll(Integer from, Integer size);
 
+    /**
+     * Counts all users, for clients that ask for the total of {@link #getAll}.
+     *
+     * @return the number of users
+     */
+    long countUsers();
+
     /**
      * Checks if a user exists by their ID.
      *
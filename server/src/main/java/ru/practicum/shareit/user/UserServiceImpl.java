@@ -2,19 +2,29 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingStatsCounter;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemAvailabilityCalendar;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.request.RequestFeedCache;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
+import static org.springframework.transaction.annotation.Isolation.READ_COMMITTED;
 import static org.springframework.transaction.annotation.Isolation.REPEATABLE_READ;
 import static org.springframework.transaction.annotation.Propagation.REQUIRED;
+import static ru.practicum.shareit.user.UserConstant.USERS_CACHE;
+import static ru.practicum.shareit.utils.TransactionHooks.afterCommit;
 
 /**
  * The UserServiceImpl class is responsible for managing users in the application.
@@ -29,6 +39,10 @@ import static org.springframework.transaction.annotation.Propagation.REQUIRED;
 public class UserServiceImpl implements UserService {
     private final UserRepository repository;
     private final UserMapper mapper;
+    private final ObjectProvider<ItemSearchIndex> itemSearchIndex;
+    private final ItemAvailabilityCalendar availabilityCalendar;
+    private final BookingStatsCounter bookingStatsCounter;
+    private final RequestFeedCache requestFeedCache;
 
 
     @Transactional
@@ -37,6 +51,7 @@ public class UserServiceImpl implements UserService {
         log.debug("Adding a user with email: {}", userDTO.getEmail());
 
         UserDTO savedUserDTO = mapper.toDTO(repository.saveAndFlush(mapper.toModel(userDTO)));
+        bookingStatsCounter.init(savedUserDTO.getId());
 
         log.info("User added with ID: {}", savedUserDTO.getId());
         return savedUserDTO;
@@ -44,10 +59,11 @@ public class UserServiceImpl implements UserService {
 
     @Transactional
     @Override
+    @CacheEvict(cacheNames = USERS_CACHE, key = "#id")
     public UserDTO updateUser(Long id, UserDTO userDTO) {
         log.debug("Updating user with ID: {}", id);
 
-        User existingUser = (findUserById(id));
+        User existingUser = findUserById(id).toBuilder().build();
         updateUserInfoFromDTO(existingUser, userDTO);
         repository.save(existingUser);
 
@@ -55,12 +71,23 @@ public class UserServiceImpl implements UserService {
         return mapper.toDTO(existingUser);
     }
 
-    @Transactional
+    /**
+     * Runs with {@code READ_COMMITTED}, so that the booking counters of the users who shared bookings
+     * with the deleted one are rebuilt from the bookings as committed when their counters are locked.
+     */
+    @Transactional(isolation = READ_COMMITTED)
     @Override
+    @CacheEvict(cacheNames = USERS_CACHE, key = "#id")
     public void deleteUser(Long id) {
         log.debug("Deleting user with ID: {}", id);
 
+        Set<Long> counterparts = bookingStatsCounter.counterparts(id);
         repository.deleteById(id);
+        repository.flush();
+        bookingStatsCounter.rebuild(counterparts);
+        itemSearchIndex.ifAvailable(index -> afterCommit(() -> index.removeOwner(id)));
+        afterCommit(availabilityCalendar::invalidateAll);
+        afterCommit(requestFeedCache::invalidate);
 
         log.info("User deleted with ID: {}", id);
     }
@@ -82,7 +109,7 @@ public class UserServiceImpl implements UserService {
         Sort sort = Sort.by(Sort.Direction.ASC, "id");
         Pageable pageable = PageRequest.of(from, size, sort);
 
-        Page<User> pagedResult = repository.findAll(pageable);
+        Slice<User> pagedResult = repository.findAllBy(pageable);
         List<UserDTO> userDTOList = Collections.emptyList();
 
         if (pagedResult != null && !pagedResult.isEmpty() && !pagedResult.getContent().isEmpty()) {
@@ -93,6 +120,11 @@ public class UserServiceImpl implements UserService {
         return userDTOList;
     }
 
+    @Override
+    public long countUsers() {
+        return repository.count();
+    }
+
     @Override
     public boolean isExistUser(Long id) {
         boolean exists = repository.existsById(id);
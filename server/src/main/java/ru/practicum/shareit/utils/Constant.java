@@ -9,4 +9,8 @@ public final class Constant {
     public static final String LIMIT = "20";
 
     public static final String SPRING = "spring";
+
+    public static final String X_NEXT_CURSOR = "X-Next-Cursor";
+
+    public static final String X_TOTAL_COUNT = "X-Total-Count";
 }
\ No newline at end of file
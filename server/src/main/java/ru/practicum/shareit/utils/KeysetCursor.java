@@ -0,0 +1,81 @@
+package ru.practicum.shareit.utils;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position in a listing ordered by a timestamp and an id, both descending.
+ * A cursor points at the last row the client has already received, the next page starts strictly after it.
+ * The token handed out to clients is URL-safe and carries no meaning for them.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class KeysetCursor {
+    /**
+     * Cursor positioned before the first row of a listing.
+     */
+    public static final KeysetCursor FIRST = new KeysetCursor(null, null);
+
+    private static final String SEPARATOR = ",";
+
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    /**
+     * Creates a cursor pointing at the row with the given sort key.
+     *
+     * @param timestamp the timestamp of the row
+     * @param id        the id of the row
+     * @return the cursor
+     */
+    public static KeysetCursor of(LocalDateTime timestamp, Long id) {
+        return new KeysetCursor(timestamp, id);
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}. A blank token starts from the first row.
+     *
+     * @param token the token received from the client
+     * @return the decoded cursor
+     * @throws BadRequestException if the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR);
+            if (parts.length != 2) {
+                throw new BadRequestException("Invalid cursor: " + token);
+            }
+            return new KeysetCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + token);
+        }
+    }
+
+    /**
+     * Encodes the cursor into a URL-safe token.
+     *
+     * @return the token to hand out to the client
+     */
+    public String encode() {
+        String raw = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isFirst() {
+        return timestamp == null || id == null;
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.utils;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for running side effects only once the surrounding transaction has committed.
+ */
+@UtilityClass
+public final class TransactionHooks {
+
+    /**
+     * Runs the action after the current transaction commits, or right away when no transaction is active.
+     * Rolled back transactions never run the action.
+     *
+     * @param action the side effect to run
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,2 @@
+-- Optimistic lock of a booking, incremented by every status change.
+ALTER TABLE bookings ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,18 @@
+-- Append-only log of booking status changes. Rows are never updated or deleted and outlive the bookings
+-- they describe, so there is no foreign key to bookings.
+CREATE TABLE booking_events
+(
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    booking_id  INT                         NOT NULL,
+    from_status VARCHAR(16),
+    to_status   VARCHAR(16)                 NOT NULL,
+    actor_id    INT                         NOT NULL,
+    occurred_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_booking_events_booking ON booking_events (booking_id, id);
+
+-- The log of an existing booking starts from its current status, as if it had been created with it.
+INSERT INTO booking_events (booking_id, from_status, to_status, actor_id, occurred_at)
+SELECT id, NULL, status, booker_id, CURRENT_TIMESTAMP
+FROM bookings;
@@ -0,0 +1,2 @@
+-- Items offered in response to item requests, loaded for a page of requests at once.
+CREATE INDEX idx_items_request ON items (request_id, id);
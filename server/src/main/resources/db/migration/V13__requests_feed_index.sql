@@ -0,0 +1,2 @@
+-- Request feed, newest first with the id as tie-breaker, paged by cursor.
+CREATE INDEX idx_requests_created ON requests (created DESC, id DESC);
@@ -0,0 +1,3 @@
+-- Archival job: bookings not archived yet that ended before the cutoff, read in batches by id.
+-- Replaced on PostgreSQL by a partial index in V15.
+CREATE INDEX idx_bookings_archived_end ON bookings (archived, end_date, id);
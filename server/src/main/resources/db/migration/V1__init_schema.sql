@@ -1,11 +1,4 @@
-DROP TABLE IF EXISTS REQUESTS CASCADE;
-DROP TABLE IF EXISTS BOOKINGS CASCADE;
-DROP TABLE IF EXISTS COMMENTS CASCADE;
-DROP TABLE IF EXISTS ITEMS CASCADE;
-DROP TABLE IF EXISTS USERS CASCADE;
-
-
-CREATE TABLE IF NOT EXISTS users
+CREATE TABLE users
 (
     id    INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     name  VARCHAR(16)        NOT NULL,
@@ -13,7 +6,7 @@ CREATE TABLE IF NOT EXISTS users
 );
 
 
-CREATE TABLE IF NOT EXISTS requests
+CREATE TABLE requests
 (
     id           INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     description  VARCHAR(64)                 NOT NULL,
@@ -23,7 +16,7 @@ CREATE TABLE IF NOT EXISTS requests
 );
 
 
-CREATE TABLE IF NOT EXISTS items
+CREATE TABLE items
 (
     id           INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     name         VARCHAR(32)                 NOT NULL,
@@ -38,7 +31,7 @@ CREATE TABLE IF NOT EXISTS items
 );
 
 
-CREATE TABLE IF NOT EXISTS bookings
+CREATE TABLE bookings
 (
     id         INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     start_date TIMESTAMP WITHOUT TIME ZONE,
@@ -51,7 +44,7 @@ CREATE TABLE IF NOT EXISTS bookings
 );
 
 
-CREATE TABLE IF NOT EXISTS comments
+CREATE TABLE comments
 (
     id        INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     text      VARCHAR(2048) NOT NULL,
@@ -60,4 +53,4 @@ CREATE TABLE IF NOT EXISTS comments
     created   TIMESTAMP,
     FOREIGN KEY (item_id) REFERENCES ITEMS (id) ON DELETE CASCADE,
     FOREIGN KEY (author_id) REFERENCES USERS (id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
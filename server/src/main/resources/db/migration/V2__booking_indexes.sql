@@ -0,0 +1,12 @@
+-- Booker listings: equality on booker_id, ordered by start_date (and id for keyset paging).
+CREATE INDEX idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+
+-- Booker PAST listing and the comment eligibility check filter on end_date.
+CREATE INDEX idx_bookings_booker_end ON bookings (booker_id, end_date);
+
+-- Last/next booking per item and the owner listings reached through items.owner_id.
+CREATE INDEX idx_bookings_item_status_start ON bookings (item_id, status, start_date);
+
+CREATE INDEX idx_items_owner ON items (owner_id, id);
+
+CREATE INDEX idx_comments_item_created ON comments (item_id, created DESC);
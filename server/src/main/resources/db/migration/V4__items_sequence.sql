@@ -0,0 +1,5 @@
+-- Item ids come from a sequence so that Hibernate can batch item inserts, which IDENTITY columns rule out.
+-- The increment matches the allocationSize of Item: every value reserves a block of 50 ids.
+CREATE SEQUENCE items_id_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY;
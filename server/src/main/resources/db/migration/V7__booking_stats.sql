@@ -0,0 +1,36 @@
+-- Booking counts per status for every user, seen as booker and as item owner.
+-- Kept current by the booking service and rebuilt from bookings when they drift.
+CREATE TABLE booking_stats
+(
+    user_id  INT        NOT NULL,
+    role     VARCHAR(8) NOT NULL,
+    waiting  BIGINT     NOT NULL DEFAULT 0,
+    approved BIGINT     NOT NULL DEFAULT 0,
+    rejected BIGINT     NOT NULL DEFAULT 0,
+    canceled BIGINT     NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, role),
+    FOREIGN KEY (user_id) REFERENCES USERS (id) ON DELETE CASCADE
+);
+
+INSERT INTO booking_stats (user_id, role, waiting, approved, rejected, canceled)
+SELECT u.id,
+       'BOOKER',
+       COUNT(CASE WHEN b.status = 'WAITING' THEN 1 END),
+       COUNT(CASE WHEN b.status = 'APPROVED' THEN 1 END),
+       COUNT(CASE WHEN b.status = 'REJECTED' THEN 1 END),
+       COUNT(CASE WHEN b.status = 'CANCELED' THEN 1 END)
+FROM users u
+         LEFT JOIN bookings b ON b.booker_id = u.id
+GROUP BY u.id;
+
+INSERT INTO booking_stats (user_id, role, waiting, approved, rejected, canceled)
+SELECT u.id,
+       'OWNER',
+       COUNT(CASE WHEN b.status = 'WAITING' THEN 1 END),
+       COUNT(CASE WHEN b.status = 'APPROVED' THEN 1 END),
+       COUNT(CASE WHEN b.status = 'REJECTED' THEN 1 END),
+       COUNT(CASE WHEN b.status = 'CANCELED' THEN 1 END)
+FROM users u
+         LEFT JOIN items i ON i.owner_id = u.id
+         LEFT JOIN bookings b ON b.item_id = i.id
+GROUP BY u.id;
@@ -0,0 +1,3 @@
+-- Set by the archival job on bookings that ended long ago. Listings of current and future bookings
+-- only read rows that are not archived; past listings read both.
+ALTER TABLE bookings ADD COLUMN archived BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.booking.BookingState.*;
+
+@Transactional
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingArchiveJobTest {
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private final BookingService bookingService;
+    private final EntityManager entityManager;
+    private User booker;
+    private User owner;
+    private Item item;
+    private Booking oldBooking;
+    private Booking recentBooking;
+    private Booking futureBooking;
+
+    @BeforeEach
+    void setUp() {
+        owner = persist(User.builder().name("owner").email("owner@archive.com").build());
+        booker = persist(User.builder().name("booker").email("booker@archive.com").build());
+        item = persist(Item.builder().name("Drill").description("Cordless drill").available(true).owner(owner).build());
+
+        oldBooking = persist(booking(NOW.minusMonths(8)));
+        recentBooking = persist(booking(NOW.minusDays(3)));
+        futureBooking = persist(booking(NOW.plusDays(3)));
+        entityManager.flush();
+    }
+
+    @Test
+    void archive_flagsOnlyBookingsEndedBeforeCutoff() {
+        new BookingArchiveJob(bookingService, 6, Duration.ofHours(1)).archive();
+        entityManager.clear();
+
+        assertThat(entityManager.find(Booking.class, oldBooking.getId()).isArchived()).isTrue();
+        assertThat(entityManager.find(Booking.class, recentBooking.getId()).isArchived()).isFalse();
+        assertThat(entityManager.find(Booking.class, futureBooking.getId()).isArchived()).isFalse();
+    }
+
+    @Test
+    void archive_pastListingsStillReadArchivedBookings() {
+        new BookingArchiveJob(bookingService, 6, Duration.ofHours(1)).archive();
+        entityManager.clear();
+
+        assertThat(bookingService.getBookings(booker.getId(), PAST, 0, 10))
+                .extracting(BookingDTOResponse::getId)
+                .containsExactly(recentBooking.getId(), oldBooking.getId());
+        assertThat(bookingService.getOwnerBookings(owner.getId(), PAST, 0, 10))
+                .extracting(BookingDTOResponse::getId)
+                .containsExactly(recentBooking.getId(), oldBooking.getId());
+        assertThat(bookingService.getBookings(booker.getId(), FUTURE, 0, 10))
+                .extracting(BookingDTOResponse::getId)
+                .containsExactly(futureBooking.getId());
+        assertThat(bookingService.getBookings(booker.getId(), ALL, 0, 10)).hasSize(3);
+    }
+
+    private Booking booking(LocalDateTime start) {
+        return Booking.builder()
+                .start(start)
+                .end(start.plusDays(1))
+                .item(item)
+                .booker(booker)
+                .status(APPROVED)
+                .build();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
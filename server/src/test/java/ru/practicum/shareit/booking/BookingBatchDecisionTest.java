@@ -0,0 +1,172 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.utils.StatementCountTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.booking.BookingState.APPROVED;
+import static ru.practicum.shareit.booking.BookingState.REJECTED;
+import static ru.practicum.shareit.booking.BookingState.WAITING;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingBatchDecisionTest extends StatementCountTest {
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final BookingStatsCounter bookingStatsCounter;
+    private User owner;
+    private final List<Booking> bookings = new ArrayList<>();
+    private Booking foreignBooking;
+    private Booking approvedBooking;
+
+    @BeforeEach
+    void setUp() {
+        owner = persist(User.builder().name("owner").email("owner@mail.com").build());
+        User otherOwner = persist(User.builder().name("other").email("other@mail.com").build());
+        User booker = persist(User.builder().name("booker").email("booker@mail.com").build());
+        Item item = persist(Item.builder().name("Drill").description("Cordless drill").available(true).owner(owner).build());
+        Item foreignItem = persist(Item.builder().name("Saw").description("Hand saw").available(true).owner(otherOwner).build());
+
+        for (int i = 0; i < 10; i++) {
+            bookings.add(persist(booking(item, booker, NOW.plusDays(i + 1), WAITING)));
+        }
+        foreignBooking = persist(booking(foreignItem, booker, NOW.plusDays(1), WAITING));
+        approvedBooking = persist(booking(item, booker, NOW.plusDays(20), APPROVED));
+
+        entityManager.flush();
+        bookingStatsCounter.rebuild(List.of(owner.getId(), otherOwner.getId(), booker.getId()));
+        startCounting();
+    }
+
+    @Test
+    void updateBookings_appliesDecisionsWithOneSelectAndOneBatchedUpdate() {
+        List<BookingDecisionDTO> decisions = bookings.stream()
+                .map(booking -> BookingDecisionDTO.builder()
+                        .bookingId(booking.getId())
+                        .approved(booking.getId() % 2 == 0)
+                        .build())
+                .collect(Collectors.toList());
+
+        List<BookingDecisionResultDTO> results = bookingService.updateBookings(owner.getId(), decisions);
+        entityManager.flush();
+
+        // the booking counters are incremented in one more JDBC batch, sent past Hibernate
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(results).extracting(BookingDecisionResultDTO::getBookingId)
+                .containsExactlyElementsOf(bookings.stream().map(Booking::getId).collect(Collectors.toList()));
+        assertThat(results).allSatisfy(result -> assertThat(result.getError()).isNull());
+        entityManager.clear();
+        bookings.forEach(booking -> assertThat(entityManager.find(Booking.class, booking.getId()).getStatus())
+                .isEqualTo(booking.getId() % 2 == 0 ? APPROVED : REJECTED));
+    }
+
+    @Test
+    void updateBookings_reportsRefusedDecisionsAndAppliesTheRest() {
+        List<BookingDecisionDTO> decisions = List.of(
+                BookingDecisionDTO.builder().bookingId(bookings.get(0).getId()).approved(true).build(),
+                BookingDecisionDTO.builder().bookingId(foreignBooking.getId()).approved(true).build(),
+                BookingDecisionDTO.builder().bookingId(approvedBooking.getId()).approved(true).build(),
+                BookingDecisionDTO.builder().bookingId((long) Integer.MAX_VALUE).approved(false).build());
+
+        List<BookingDecisionResultDTO> results = bookingService.updateBookings(owner.getId(), decisions);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(results).extracting(BookingDecisionResultDTO::getStatus).containsExactly(APPROVED, null, null, null);
+        assertThat(results).extracting(BookingDecisionResultDTO::getError)
+                .containsExactly(null, "User not authorized", "Booking already approved", "Booking not found");
+        assertThat(entityManager.find(Booking.class, bookings.get(0).getId()).getStatus()).isEqualTo(APPROVED);
+        assertThat(entityManager.find(Booking.class, foreignBooking.getId()).getStatus()).isEqualTo(WAITING);
+    }
+
+    @Test
+    void updateBooking_approvesWithOneSelectAndOneConditionalUpdate() {
+        Booking booking = bookings.get(0);
+
+        BookingDTOResponse response = bookingService.updateBooking(owner.getId(), booking.getId(), true);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(response.getStatus()).isEqualTo(APPROVED);
+        assertThat(response.getItem().getOwner().getId()).isEqualTo(owner.getId());
+        assertThat(response.getBooker().getId()).isEqualTo(booking.getBooker().getId());
+        Booking updated = entityManager.find(Booking.class, booking.getId());
+        assertThat(updated.getStatus()).isEqualTo(APPROVED);
+        assertThat(updated.getVersion()).isEqualTo(booking.getVersion() + 1);
+    }
+
+    @Test
+    void updateStatusByIdAndVersion_staleVersion_updatesNothing() {
+        Booking booking = bookings.get(0);
+
+        assertThat(bookingRepository.updateStatusByIdAndVersion(booking.getId(), booking.getVersion(), APPROVED)).isEqualTo(1);
+        assertThat(bookingRepository.updateStatusByIdAndVersion(booking.getId(), booking.getVersion(), REJECTED)).isZero();
+        assertThat(entityManager.find(Booking.class, booking.getId()).getStatus()).isEqualTo(APPROVED);
+    }
+
+    @Test
+    void reapprovingRejectedBooking_periodBookedMeanwhile_isRefused() {
+        Booking rejected = bookings.get(0);
+        User otherBooker = persist(User.builder().name("other booker").email("other.booker@mail.com").build());
+        bookingService.updateBooking(owner.getId(), rejected.getId(), false);
+        bookingService.addBooking(otherBooker.getId(), BookingDTO.builder()
+                .itemId(rejected.getItem().getId()).start(rejected.getStart()).end(rejected.getEnd()).build());
+
+        assertThrows(ConflictException.class, () -> bookingService.updateBooking(owner.getId(), rejected.getId(), true));
+        List<BookingDecisionResultDTO> results = bookingService.updateBookings(owner.getId(),
+                List.of(BookingDecisionDTO.builder().bookingId(rejected.getId()).approved(true).build()));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(results).extracting(BookingDecisionResultDTO::getError)
+                .containsExactly("Item is already booked for this period");
+        assertThat(entityManager.find(Booking.class, rejected.getId()).getStatus()).isEqualTo(REJECTED);
+    }
+
+    @Test
+    void updateBookings_reapprovesRejectedBookingWhosePeriodIsFree() {
+        Booking rejected = bookings.get(0);
+        bookingService.updateBooking(owner.getId(), rejected.getId(), false);
+
+        List<BookingDecisionResultDTO> results = bookingService.updateBookings(owner.getId(),
+                List.of(BookingDecisionDTO.builder().bookingId(rejected.getId()).approved(true).build()));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(results).extracting(BookingDecisionResultDTO::getStatus).containsExactly(APPROVED);
+        assertThat(entityManager.find(Booking.class, rejected.getId()).getStatus()).isEqualTo(APPROVED);
+    }
+
+    @Test
+    void updateBookings_emptyIncompleteOrTooManyDecisions_throwBadRequest() {
+        List<BookingDecisionDTO> incomplete = List.of(BookingDecisionDTO.builder().bookingId(bookings.get(0).getId()).build());
+        List<BookingDecisionDTO> tooMany = Collections.nCopies(101,
+                BookingDecisionDTO.builder().bookingId(bookings.get(0).getId()).approved(true).build());
+
+        assertThrows(BadRequestException.class, () -> bookingService.updateBookings(owner.getId(), List.of()));
+        assertThrows(BadRequestException.class, () -> bookingService.updateBookings(owner.getId(), incomplete));
+        assertThrows(BadRequestException.class, () -> bookingService.updateBookings(owner.getId(), tooMany));
+    }
+
+    private static Booking booking(Item item, User booker, LocalDateTime start, BookingState status) {
+        return Booking.builder()
+                .start(start)
+                .end(start.plusHours(12))
+                .item(item)
+                .booker(booker)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.ItemDTO;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.UserDTO;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.booking.BookingState.APPROVED;
+import static ru.practicum.shareit.booking.BookingState.WAITING;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int REQUESTS_PER_THREAD = 25;
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final List<UserDTO> users = new ArrayList<>();
+    private final List<ItemDTO> items = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        UserDTO owner = addUser("owner");
+        for (int i = 0; i < THREADS; i++) {
+            addUser("booker" + i);
+        }
+        for (int i = 0; i < 2; i++) {
+            items.add(itemService.addItem(owner.getId(),
+                    ItemDTO.builder().name("Drill " + i).description("Popular drill").available(true).build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        users.forEach(user -> userService.deleteUser(user.getId()));
+    }
+
+    @Test
+    void addBooking_concurrentOverlappingRequests_neverDoubleBookItem() throws Exception {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch startGate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            Long bookerId = users.get(t + 1).getId();
+            futures.add(executor.submit(() -> {
+                startGate.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int r = 0; r < REQUESTS_PER_THREAD; r++) {
+                    LocalDateTime start = base.plusHours(random.nextInt(48));
+                    BookingDTO bookingDTO = BookingDTO.builder()
+                            .itemId(items.get(random.nextInt(items.size())).getId())
+                            .start(start)
+                            .end(start.plusHours(1 + random.nextInt(6)))
+                            .build();
+                    try {
+                        bookingService.addBooking(bookerId, bookingDTO);
+                        created.incrementAndGet();
+                    } catch (ConflictException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        startGate.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        List<Long> itemIds = items.stream().map(ItemDTO::getId).collect(Collectors.toList());
+        Map<Long, List<Booking>> bookingsByItem = bookingRepository.findAll().stream()
+                .filter(booking -> itemIds.contains(booking.getItem().getId()))
+                .filter(booking -> booking.getStatus() == WAITING || booking.getStatus() == APPROVED)
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+
+        assertThat(created.get() + conflicts.get()).isEqualTo(THREADS * REQUESTS_PER_THREAD);
+        assertThat(created.get()).isPositive();
+        assertThat(conflicts.get()).isPositive();
+        assertThat(bookingsByItem.values().stream().mapToInt(List::size).sum()).isEqualTo(created.get());
+        assertThat(bookingService.getStats(users.get(0).getId()).getOwner()).containsEntry(WAITING, (long) created.get());
+        assertThat(users.subList(1, users.size()).stream()
+                .mapToLong(user -> bookingService.getStats(user.getId()).getBooker().get(WAITING))
+                .sum()).isEqualTo(created.get());
+        bookingsByItem.values().forEach(bookings -> {
+            for (int i = 0; i < bookings.size(); i++) {
+                for (int j = i + 1; j < bookings.size(); j++) {
+                    Booking first = bookings.get(i);
+                    Booking second = bookings.get(j);
+                    assertThat(first.getStart().isBefore(second.getEnd()) && second.getStart().isBefore(first.getEnd()))
+                            .as("bookings %d and %d overlap", first.getId(), second.getId())
+                            .isFalse();
+                }
+            }
+        });
+    }
+
+    private UserDTO addUser(String name) {
+        UserDTO user = userService.addUser(UserDTO.builder().name(name).email(name + "@concurrency.com").build());
+        users.add(user);
+        return user;
+    }
+}
@@ -10,17 +10,25 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.utils.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.item.ItemConstant.X_SHARER_USER_ID;
+import static ru.practicum.shareit.utils.Constant.X_NEXT_CURSOR;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -85,6 +93,89 @@ class BookingControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(bookingDTOResponse)));
     }
 
+    @Test
+    @SneakyThrows
+    void updateBookingStatuses() {
+        Long userId = 1L;
+        List<BookingDecisionDTO> decisions = List.of(
+                BookingDecisionDTO.builder().bookingId(1L).approved(true).build(),
+                BookingDecisionDTO.builder().bookingId(2L).approved(false).build());
+        List<BookingDecisionResultDTO> results = List.of(
+                BookingDecisionResultDTO.builder().bookingId(1L).status(BookingState.APPROVED).build(),
+                BookingDecisionResultDTO.builder().bookingId(2L).error("Booking not found").build());
+
+        when(bookingService.updateBookings(eq(userId), any())).thenReturn(results);
+
+        mockMvc.perform(patch("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(decisions))
+                        .header(X_SHARER_USER_ID, userId))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(results)));
+    }
+
+    @Test
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    void exportBookings_writesOneJsonObjectPerLine() {
+        Long userId = 1L;
+        BookingDTOResponse first = BookingDTOResponse.builder().id(2L).status(BookingState.WAITING).build();
+        BookingDTOResponse second = BookingDTOResponse.builder().id(1L).status(BookingState.APPROVED).build();
+        doAnswer(invocation -> {
+            Consumer<BookingDTOResponse> sink = invocation.getArgument(1);
+            sink.accept(first);
+            sink.accept(second);
+            return null;
+        }).when(bookingService).exportBookings(eq(userId), any());
+
+        mockMvc.perform(get("/bookings/export").header(X_SHARER_USER_ID, userId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(first) + "\n"
+                        + objectMapper.writeValueAsString(second) + "\n"));
+    }
+
+    @Test
+    @SneakyThrows
+    void exportBookings_unknownUser_returnsNotFound() {
+        doThrow(new NotFoundException("User not found")).when(bookingService).exportBookings(eq(99L), any());
+
+        mockMvc.perform(get("/bookings/export").header(X_SHARER_USER_ID, 99L))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @SneakyThrows
+    void getStats_returnsBookerAndOwnerCounts() {
+        Long userId = 1L;
+        BookingStatsDTO stats = BookingStatsDTO.builder()
+                .booker(Map.of(BookingState.ALL, 3L, BookingState.WAITING, 1L, BookingState.APPROVED, 2L))
+                .owner(Map.of(BookingState.ALL, 1L, BookingState.REJECTED, 1L))
+                .build();
+        when(bookingService.getStats(userId)).thenReturn(stats);
+
+        mockMvc.perform(get("/bookings/stats").header(X_SHARER_USER_ID, userId))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(stats)));
+    }
+
+    @Test
+    @SneakyThrows
+    void getBookingEvents_returnsEventLog() {
+        Long userId = 1L;
+        Long bookingId = 2L;
+        List<BookingEventDTO> events = List.of(
+                BookingEventDTO.builder().id(1L).bookingId(bookingId).to(BookingState.WAITING).actorId(3L).build(),
+                BookingEventDTO.builder().id(2L).bookingId(bookingId).from(BookingState.WAITING)
+                        .to(BookingState.APPROVED).actorId(userId).build());
+        when(bookingService.getBookingEvents(bookingId, userId)).thenReturn(events);
+
+        mockMvc.perform(get("/bookings/{bookingId}/events", bookingId).header(X_SHARER_USER_ID, userId))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(events)));
+    }
+
     @Test
     @SneakyThrows
     void getBooking() {
@@ -155,4 +246,54 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(bookingDTOResponseList)));
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void getBookingsAfterCursor_fullPage_returnsNextCursor() {
+        Long userId = 1L;
+        Integer size = 1;
+        KeysetCursor cursor = KeysetCursor.of(LocalDateTime.of(2030, 1, 2, 10, 0), 7L);
+        BookingDTOResponse bookingDTOResponse = BookingDTOResponse.builder()
+                .id(5L)
+                .start(LocalDateTime.of(2030, 1, 1, 10, 0))
+                .end(LocalDateTime.of(2030, 1, 1, 12, 0))
+                .build();
+
+        when(bookingService.getBookingsAfter(eq(userId), eq(BookingState.ALL), eq(cursor), eq(size)))
+                .thenReturn(List.of(bookingDTOResponse));
+
+        mockMvc.perform(get("/bookings")
+                        .header(X_SHARER_USER_ID, userId)
+                        .param("size", String.valueOf(size))
+                        .param("after", cursor.encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(X_NEXT_CURSOR,
+                        KeysetCursor.of(bookingDTOResponse.getStart(), bookingDTOResponse.getId()).encode()))
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(bookingDTOResponse))));
+    }
+
+    @Test
+    @SneakyThrows
+    void getBookingsOwnerAfterCursor_lastPage_hasNoNextCursor() {
+        Long userId = 1L;
+
+        when(bookingService.getOwnerBookingsAfter(eq(userId), eq(BookingState.ALL), eq(KeysetCursor.FIRST), eq(20)))
+                .thenReturn(List.of());
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header(X_SHARER_USER_ID, userId)
+                        .param("after", ""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(X_NEXT_CURSOR))
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    @SneakyThrows
+    void getBookingsAfterCursor_malformedCursor_returnsBadRequest() {
+        mockMvc.perform(get("/bookings")
+                        .header(X_SHARER_USER_ID, 1L)
+                        .param("after", "not a cursor"))
+                .andExpect(status().isBadRequest());
+    }
+}
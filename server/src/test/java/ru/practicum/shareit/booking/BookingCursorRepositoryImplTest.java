@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.Session;
+import org.hibernate.stat.SessionStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.utils.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.booking.BookingState.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BookingCursorRepositoryImplTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 1, 12, 0);
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private BookingRepository bookingRepository;
+    private User owner;
+    private User booker;
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = testEntityManager.persist(User.builder().name("owner").email("owner@mail.com").build());
+        booker = testEntityManager.persist(User.builder().name("booker").email("booker@mail.com").build());
+        Item item = testEntityManager.persist(Item.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        for (int i = 0; i < 7; i++) {
+            LocalDateTime start = NOW.minusDays(2).plusDays(i / 2);
+            bookings.add(testEntityManager.persist(Booking.builder()
+                    .start(start)
+                    .end(start.plusHours(12))
+                    .item(item)
+                    .booker(booker)
+                    .status(i % 3 == 0 ? REJECTED : WAITING)
+                    .build()));
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void forEachBookerBooking_streamsAllBookingsInOrderWithBoundedPersistenceContext() {
+        List<Long> expected = bookings.stream()
+                .sorted(Comparator.comparing(Booking::getStart).thenComparing(Booking::getId).reversed())
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+        SessionStatistics session = testEntityManager.getEntityManager().unwrap(Session.class).getStatistics();
+
+        List<Long> streamed = new ArrayList<>();
+        List<Integer> managedEntities = new ArrayList<>();
+        bookingRepository.forEachBookerBooking(booker.getId(), 2, booking -> {
+            streamed.add(booking.getId());
+            assertThat(booking.getItem().getOwner().getId()).isEqualTo(owner.getId());
+            managedEntities.add(session.getEntityCount());
+        });
+
+        assertThat(streamed).containsExactlyElementsOf(expected);
+        // at most two bookings with their item, owner and booker
+        assertThat(managedEntities).allSatisfy(count -> assertThat(count).isLessThanOrEqualTo(5));
+    }
+
+    @Test
+    void findBookerPageAfter_walksAllPagesInKeysetOrder() {
+        List<Long> expected = bookings.stream()
+                .sorted(Comparator.comparing(Booking::getStart).thenComparing(Booking::getId).reversed())
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+
+        List<Long> walked = new ArrayList<>();
+        KeysetCursor cursor = KeysetCursor.FIRST;
+        List<Booking> page;
+        do {
+            page = bookingRepository.findBookerPageAfter(booker.getId(), ALL, NOW, cursor, 3);
+            page.forEach(booking -> walked.add(booking.getId()));
+            if (!page.isEmpty()) {
+                Booking last = page.get(page.size() - 1);
+                cursor = KeysetCursor.of(last.getStart(), last.getId());
+            }
+        } while (page.size() == 3);
+
+        assertThat(walked).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void findOwnerPageAfter_filtersByState() {
+        List<Booking> rejected = bookingRepository.findOwnerPageAfter(owner.getId(), REJECTED, NOW, KeysetCursor.FIRST, 20);
+        List<Booking> future = bookingRepository.findOwnerPageAfter(owner.getId(), FUTURE, NOW, KeysetCursor.FIRST, 20);
+
+        assertThat(rejected).hasSize(3).allMatch(booking -> booking.getStatus() == REJECTED);
+        assertThat(future).isNotEmpty().allMatch(booking -> booking.getStart().isAfter(NOW));
+    }
+
+    @Test
+    void findOwnerPageAfter_otherUser_returnsNothing() {
+        assertThat(bookingRepository.findOwnerPageAfter(booker.getId(), ALL, NOW, KeysetCursor.FIRST, 20)).isEmpty();
+    }
+}
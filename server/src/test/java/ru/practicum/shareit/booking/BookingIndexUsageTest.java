@@ -0,0 +1,230 @@
+package ru.practicum.shareit.booking;
+
+import org.assertj.core.api.SoftAssertions;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.utils.KeysetCursor;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.booking.BookingState.*;
+
+/**
+ * Calls every query method of {@link BookingRepository} and {@link BookingCursorRepository}, runs each statement
+ * through {@code EXPLAIN} and fails as soon as one of them falls back to a full scan, so a dropped or mismatched
+ * index in the migrations, or a new query without one, is caught here.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.booking.BookingIndexUsageTest$SqlCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BookingIndexUsageTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 1, 12, 0);
+    private static final PageRequest PAGE = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "start"));
+    /**
+     * An index named in the plan without any condition on it is read from end to end, which costs as much as
+     * a table scan; H2 only reports a table scan when no index is involved at all.
+     */
+    private static final String UNBOUNDED_INDEX_SCAN = "/\\* PUBLIC\\.\\w+ \\*/";
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private BookingRepository bookingRepository;
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = testEntityManager.persist(User.builder().name("owner").email("owner@mail.com").build());
+        for (int u = 0; u < 20; u++) {
+            User user = testEntityManager.persist(User.builder().name("user" + u).email("user" + u + "@mail.com").build());
+            Item userItem = testEntityManager.persist(Item.builder()
+                    .name("Item" + u)
+                    .description("Description" + u)
+                    .available(true)
+                    .owner(u % 2 == 0 ? owner : user)
+                    .build());
+            for (int b = 0; b < 20; b++) {
+                LocalDateTime start = NOW.minusDays(10).plusDays(b);
+                testEntityManager.persist(Booking.builder()
+                        .start(start)
+                        .end(start.plusHours(12))
+                        .item(userItem)
+                        .booker(user)
+                        .status(b % 4 == 0 ? WAITING : APPROVED)
+                        .build());
+            }
+            booker = user;
+            item = userItem;
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+        SqlCapture.STATEMENTS.clear();
+    }
+
+    @Test
+    void everyQueryMethod_usesIndexesInsteadOfScans() throws Exception {
+        List<Method> queryMethods = Stream.of(BookingRepository.class, BookingCursorRepository.class)
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods()))
+                .filter(method -> !method.isSynthetic() && !Modifier.isStatic(method.getModifiers()))
+                .sorted(Comparator.comparing(Method::getName))
+                .collect(Collectors.toList());
+
+        assertThat(queryMethods).isNotEmpty();
+        SoftAssertions softly = new SoftAssertions();
+        for (Method method : queryMethods) {
+            SqlCapture.STATEMENTS.clear();
+            for (Object[] arguments : argumentsOf(method)) {
+                method.invoke(bookingRepository, arguments);
+            }
+            Map<String, String> plans = explain(SqlCapture.STATEMENTS);
+
+            softly.assertThat(plans).as("%s issues no statement", method.getName()).isNotEmpty();
+            plans.forEach((sql, plan) -> softly.assertThat(plan)
+                    .as("%s falls back to a scan:%n%s", method.getName(), plan)
+                    .doesNotContainIgnoringCase("tableScan")
+                    .doesNotContainPattern(UNBOUNDED_INDEX_SCAN));
+        }
+        softly.assertAll();
+    }
+
+    @Test
+    void findByItem_Owner_IdAndStatusOrderByIdDesc_returnsOnlyOwnersWaitingBookings() {
+        List<BookingView> bookings = bookingRepository.findByItem_Owner_IdAndStatusOrderByIdDesc(
+                owner.getId(), WAITING, PageRequest.of(0, 100));
+
+        assertThat(bookings).hasSize(50);
+        assertThat(bookings).allSatisfy(booking -> {
+            assertThat(booking.getStatus()).isEqualTo(WAITING);
+            assertThat(booking.getOwnerId()).isEqualTo(owner.getId());
+        });
+        assertThat(bookings).extracting(BookingView::getId).isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    /**
+     * Builds the argument lists a query method is called with. Listings with a state or a cursor are called once
+     * per listed state and cursor kind, as each combination issues a different statement.
+     */
+    private List<Object[]> argumentsOf(Method method) {
+        Parameter[] parameters = method.getParameters();
+        List<Object[]> calls = new ArrayList<>();
+        calls.add(new Object[parameters.length]);
+        for (int p = 0; p < parameters.length; p++) {
+            List<?> values = valuesOf(method, parameters[p]);
+            List<Object[]> expanded = new ArrayList<>();
+            for (Object[] call : calls) {
+                for (Object value : values) {
+                    Object[] arguments = call.clone();
+                    arguments[p] = value;
+                    expanded.add(arguments);
+                }
+            }
+            calls = expanded;
+        }
+        return calls;
+    }
+
+    private List<?> valuesOf(Method method, Parameter parameter) {
+        Class<?> type = parameter.getType();
+        String name = parameter.getName().toLowerCase();
+        if (type == Long.class || type == long.class) {
+            return List.of(name.contains("item") ? item.getId() : name.contains("owner") ? owner.getId() : booker.getId());
+        }
+        if (type == Integer.class || type == int.class) {
+            return List.of(name.equals("start") ? 0 : 20);
+        }
+        if (type == LocalDateTime.class) {
+            return List.of(NOW);
+        }
+        if (type == BookingState.class) {
+            return method.getDeclaringClass() == BookingCursorRepository.class
+                    ? List.of(ALL, PAST, CURRENT, FUTURE, WAITING, REJECTED)
+                    : List.of(WAITING);
+        }
+        if (type == KeysetCursor.class) {
+            return List.of(KeysetCursor.FIRST, KeysetCursor.of(NOW, Long.MAX_VALUE));
+        }
+        if (type == Pageable.class) {
+            // listings without an order of their own are sorted by the caller, as the services do
+            Query query = method.getAnnotation(Query.class);
+            boolean ordered = method.getName().contains("OrderBy") || query != null && query.value().contains("ORDER BY");
+            return List.of(ordered ? PageRequest.of(0, 20) : PAGE);
+        }
+        if (List.class.isAssignableFrom(type)) {
+            return List.of(List.of(WAITING, APPROVED));
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return List.of(List.of(owner.getId(), booker.getId()));
+        }
+        if (type == Consumer.class) {
+            return List.of((Consumer<Booking>) booking -> {
+            });
+        }
+        throw new IllegalStateException("No test argument for parameter " + parameter + " of " + method);
+    }
+
+    private Map<String, String> explain(Set<String> statements) {
+        Map<String, String> plans = new LinkedHashMap<>();
+        testEntityManager.getEntityManager().unwrap(Session.class).doWork(connection -> {
+            // no ANALYZE here: H2 commits on it, which would leak the test data past the rollback
+            for (String sql : statements) {
+                try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                    int parameters = statement.getParameterMetaData().getParameterCount();
+                    for (int i = 1; i <= parameters; i++) {
+                        statement.setNull(i, Types.NULL);
+                    }
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        resultSet.next();
+                        plans.put(sql, resultSet.getString(1));
+                    }
+                }
+            }
+        });
+        return plans;
+    }
+
+    public static class SqlCapture implements StatementInspector {
+        static final Set<String> STATEMENTS = new CopyOnWriteArraySet<>();
+
+        @Override
+        public String inspect(String sql) {
+            String statement = sql.trim().toLowerCase();
+            if (statement.startsWith("select") || statement.startsWith("update")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.request.Request;
 import ru.practicum.shareit.user.User;
@@ -15,10 +17,12 @@ import ru.practicum.shareit.user.User;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static java.util.stream.Collectors.toList;
 import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.booking.BookingState.APPROVED;
 
@@ -34,6 +38,7 @@ class BookingRepositoryTest {
     private Item item2;
     private Request request;
     private static final Pageable PAGEABLE = PageRequest.of(0, 20);
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
     private Booking booking;
     private LocalDateTime now;
 
@@ -77,19 +82,6 @@ class BookingRepositoryTest {
         now = LocalDateTime.now();
     }
 
-    @Test
-    void updateBookingsByStatus() {
-        when(bookingRepository.updateBookingsByStatus(APPROVED.toString(), booking.getId())).thenReturn(1);
-        testEntityManager.persist(testUser);
-        testEntityManager.persist(request);
-        testEntityManager.persist(item1);
-        testEntityManager.persist(item2);
-        testEntityManager.persist(booking);
-        testEntityManager.flush();
-        int updated = bookingRepository.updateBookingsByStatus(APPROVED.toString(), booking.getId());
-        assertEquals(1, updated);
-    }
-
     @Test
     void existsByBookerIdAndItem_IdAndStatusInAndEndBefore() {
 
@@ -110,15 +102,15 @@ class BookingRepositoryTest {
 
 
     @Test
-    void getBookingByIdAndBooker_IdOrIdAndItem_Owner_Id() {
-        when(bookingRepository.getBookingByIdAndBooker_IdOrIdAndItem_Owner_Id(booking.getId(), testUser.getId(), booking.getId(), testUser.getId()))
+    void findByIdForBookerOrOwner() {
+        when(bookingRepository.findByIdForBookerOrOwner(booking.getId(), testUser.getId()))
                 .thenReturn(Optional.of(booking));
         testEntityManager.persist(testUser);
         testEntityManager.persist(item1);
         testEntityManager.persist(item2);
         testEntityManager.persist(booking);
         testEntityManager.flush();
-        Optional<Booking> foundBooking = bookingRepository.getBookingByIdAndBooker_IdOrIdAndItem_Owner_Id(booking.getId(), testUser.getId(), booking.getId(), testUser.getId());
+        Optional<Booking> foundBooking = bookingRepository.findByIdForBookerOrOwner(booking.getId(), testUser.getId());
         assertTrue(foundBooking.isPresent());
         assertEquals(foundBooking.get(), booking);
     }
@@ -134,32 +126,34 @@ class BookingRepositoryTest {
                 .item(item2)
                 .booker(testUser)
                 .build());
+        List<BookingView> views = views(bookings);
         when(bookingRepository.findByBooker_IdAndStartIsBeforeAndEndIsAfter(testUser.getId(), now, now, PAGEABLE))
-                .thenReturn(bookings);
+                .thenReturn(views);
         testEntityManager.persist(testUser);
         testEntityManager.persist(item1);
         testEntityManager.persist(item2);
         bookings.forEach(testEntityManager::persist);
         testEntityManager.flush();
-        List<Booking> fetchedBookings = bookingRepository.findByBooker_IdAndStartIsBeforeAndEndIsAfter(testUser.getId(), now, now, PAGEABLE);
-        assertEquals(bookings.size(), fetchedBookings.size());
-        assertTrue(fetchedBookings.containsAll(bookings));
-        assertTrue(bookings.containsAll(fetchedBookings));
+        List<BookingView> fetchedBookings = bookingRepository.findByBooker_IdAndStartIsBeforeAndEndIsAfter(testUser.getId(), now, now, PAGEABLE);
+        assertEquals(views.size(), fetchedBookings.size());
+        assertTrue(fetchedBookings.containsAll(views));
+        assertTrue(views.containsAll(fetchedBookings));
     }
 
 
     @Test
     void getBookingByItem_Owner_Id() {
         List<Booking> bookings = List.of(booking);
-        when(bookingRepository.getBookingByItem_Owner_Id(booking.getItem().getOwner().getId(), PAGEABLE)).thenReturn(bookings);
+        List<BookingView> views = views(bookings);
+        when(bookingRepository.getBookingByItem_Owner_Id(booking.getItem().getOwner().getId(), PAGEABLE)).thenReturn(views);
         testEntityManager.persist(testUser);
         testEntityManager.persist(item1);
         testEntityManager.persist(item2);
         bookings.forEach(testEntityManager::persist);
         testEntityManager.flush();
 
-        List<Booking> fetchedBookings = bookingRepository.getBookingByItem_Owner_Id(testUser.getId(), PAGEABLE);
-        assertEquals(bookings.size(), fetchedBookings.size());
+        List<BookingView> fetchedBookings = bookingRepository.getBookingByItem_Owner_Id(testUser.getId(), PAGEABLE);
+        assertEquals(views.size(), fetchedBookings.size());
     }
 
     @Test
@@ -167,34 +161,36 @@ class BookingRepositoryTest {
         booking.setEnd(LocalDateTime.now().minusDays(2));
 
         List<Booking> bookings = List.of(booking);
+        List<BookingView> views = views(bookings);
         when(bookingRepository.findBookingByItem_Owner_IdAndEndIsBefore(testUser.getId(), now, PAGEABLE))
-                .thenReturn(bookings);
+                .thenReturn(views);
         testEntityManager.persist(testUser);
         testEntityManager.persist(item1);
         testEntityManager.persist(item2);
         bookings.forEach(testEntityManager::persist);
         testEntityManager.flush();
-        List<Booking> fetchedBookings = bookingRepository.findBookingByItem_Owner_IdAndEndIsBefore(testUser.getId(), now, PAGEABLE);
-        assertEquals(bookings.size(), fetchedBookings.size());
-        assertTrue(fetchedBookings.containsAll(bookings));
-        assertTrue(bookings.containsAll(fetchedBookings));
+        List<BookingView> fetchedBookings = bookingRepository.findBookingByItem_Owner_IdAndEndIsBefore(testUser.getId(), now, PAGEABLE);
+        assertEquals(views.size(), fetchedBookings.size());
+        assertTrue(fetchedBookings.containsAll(views));
+        assertTrue(views.containsAll(fetchedBookings));
     }
 
     @Test
     void findBookingByItem_Owner_IdAndStartIsAfter() {
         booking.setStart(LocalDateTime.now().minusDays(2));
         List<Booking> bookings = List.of(booking);
+        List<BookingView> views = views(bookings);
         when(bookingRepository.findBookingByItem_Owner_IdAndStartIsAfter(testUser.getId(), now, PAGEABLE))
-                .thenReturn(bookings);
+                .thenReturn(views);
         testEntityManager.persist(testUser);
         testEntityManager.persist(item1);
         testEntityManager.persist(item2);
         bookings.forEach(testEntityManager::persist);
         testEntityManager.flush();
-        List<Booking> fetchedBookings = bookingRepository.findBookingByItem_Owner_IdAndStartIsAfter(testUser.getId(), now, PAGEABLE);
-        assertEquals(bookings.size(), fetchedBookings.size());
-        assertTrue(fetchedBookings.containsAll(bookings));
-        assertTrue(bookings.containsAll(fetchedBookings));
+        List<BookingView> fetchedBookings = bookingRepository.findBookingByItem_Owner_IdAndStartIsAfter(testUser.getId(), now, PAGEABLE);
+        assertEquals(views.size(), fetchedBookings.size());
+        assertTrue(fetchedBookings.containsAll(views));
+        assertTrue(views.containsAll(fetchedBookings));
     }
 
     @Test
@@ -202,17 +198,18 @@ class BookingRepositoryTest {
         booking.setStart(LocalDateTime.now().minusDays(2));
         booking.setEnd(LocalDateTime.now().plusDays(2));
         List<Booking> bookings = List.of(booking);
+        List<BookingView> views = views(bookings);
         when(bookingRepository.findBookingByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(testUser.getId(), now, now, PAGEABLE))
-                .thenReturn(bookings);
+                .thenReturn(views);
         testEntityManager.persist(testUser);
         testEntityManager.persist(item1);
         testEntityManager.persist(item2);
         bookings.forEach(testEntityManager::persist);
         testEntityManager.flush();
-        List<Booking> fetchedBookings = bookingRepository.findBookingByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(testUser.getId(), now, now, PAGEABLE);
-        assertEquals(bookings.size(), fetchedBookings.size());
-        assertTrue(fetchedBookings.containsAll(bookings));
-        assertTrue(bookings.containsAll(fetchedBookings));
+        List<BookingView> fetchedBookings = bookingRepository.findBookingByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(testUser.getId(), now, now, PAGEABLE);
+        assertEquals(views.size(), fetchedBookings.size());
+        assertTrue(fetchedBookings.containsAll(views));
+        assertTrue(views.containsAll(fetchedBookings));
     }
 
     @Test
@@ -225,17 +222,18 @@ class BookingRepositoryTest {
                 .item(item2)
                 .booker(testUser)
                 .build());
+        List<BookingView> views = views(bookings);
         when(bookingRepository.findByBooker_IdAndEndIsBefore(testUser.getId(), now, 0, 20))
-                .thenReturn(bookings);
+                .thenReturn(views);
         testEntityManager.persist(testUser);
         testEntityManager.persist(item1);
         testEntityManager.persist(item2);
         bookings.forEach(testEntityManager::persist);
         testEntityManager.flush();
-        List<Booking> fetchedBookings = bookingRepository.findByBooker_IdAndEndIsBefore(testUser.getId(), now, 0, 20);
-        assertEquals(bookings.size(), fetchedBookings.size());
-        assertTrue(fetchedBookings.containsAll(bookings));
-        assertTrue(bookings.containsAll(fetchedBookings));
+        List<BookingView> fetchedBookings = bookingRepository.findByBooker_IdAndEndIsBefore(testUser.getId(), now, 0, 20);
+        assertEquals(views.size(), fetchedBookings.size());
+        assertTrue(fetchedBookings.containsAll(views));
+        assertTrue(views.containsAll(fetchedBookings));
     }
 
     @Test
@@ -248,17 +246,18 @@ class BookingRepositoryTest {
                 .item(item2)
                 .booker(testUser)
                 .build());
+        List<BookingView> views = views(bookings);
         when(bookingRepository.findBookingByItem_Owner_IdAndStartIsAfter(testUser.getId(), now, PAGEABLE))
-                .thenReturn(bookings);
+                .thenReturn(views);
         testEntityManager.persist(testUser);
         testEntityManager.persist(item1);
         testEntityManager.persist(item2);
         bookings.forEach(testEntityManager::persist);
         testEntityManager.flush();
-        List<Booking> fetchedBookings = bookingRepository.findBookingByItem_Owner_IdAndStartIsAfter(testUser.getId(), now, PAGEABLE);
-        assertEquals(bookings.size(), fetchedBookings.size());
-        assertTrue(fetchedBookings.containsAll(bookings));
-        assertTrue(bookings.containsAll(fetchedBookings));
+        List<BookingView> fetchedBookings = bookingRepository.findBookingByItem_Owner_IdAndStartIsAfter(testUser.getId(), now, PAGEABLE);
+        assertEquals(views.size(), fetchedBookings.size());
+        assertTrue(fetchedBookings.containsAll(views));
+        assertTrue(views.containsAll(fetchedBookings));
     }
 
     @Test
@@ -271,17 +270,18 @@ class BookingRepositoryTest {
                 .item(item2)
                 .booker(testUser)
                 .build());
+        List<BookingView> views = views(bookings);
         when(bookingRepository.findBookingByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(testUser.getId(), now, now, PAGEABLE))
-                .thenReturn(bookings);
+                .thenReturn(views);
         testEntityManager.persist(testUser);
         testEntityManager.persist(item1);
         testEntityManager.persist(item2);
         bookings.forEach(testEntityManager::persist);
         testEntityManager.flush();
-        List<Booking> fetchedBookings = bookingRepository.findBookingByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(testUser.getId(), now, now, PAGEABLE);
-        assertEquals(bookings.size(), fetchedBookings.size());
-        assertTrue(fetchedBookings.containsAll(bookings));
-        assertTrue(bookings.containsAll(fetchedBookings));
+        List<BookingView> fetchedBookings = bookingRepository.findBookingByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(testUser.getId(), now, now, PAGEABLE);
+        assertEquals(views.size(), fetchedBookings.size());
+        assertTrue(fetchedBookings.containsAll(views));
+        assertTrue(views.containsAll(fetchedBookings));
     }
 
     @Test
@@ -294,17 +294,18 @@ class BookingRepositoryTest {
                 .item(item2)
                 .booker(testUser)
                 .build());
+        List<BookingView> views = views(bookings);
         when(bookingRepository.findByItem_Owner_IdAndStatusOrderByStartDesc(testUser.getId(), APPROVED, PAGEABLE))
-                .thenReturn(bookings);
+                .thenReturn(views);
         testEntityManager.persist(testUser);
         testEntityManager.persist(item1);
         testEntityManager.persist(item2);
         bookings.forEach(testEntityManager::persist);
         testEntityManager.flush();
-        List<Booking> fetchedBookings = bookingRepository.findByItem_Owner_IdAndStatusOrderByStartDesc(testUser.getId(), APPROVED, PAGEABLE);
-        assertEquals(bookings.size(), fetchedBookings.size());
-        assertTrue(fetchedBookings.containsAll(bookings));
-        assertTrue(bookings.containsAll(fetchedBookings));
+        List<BookingView> fetchedBookings = bookingRepository.findByItem_Owner_IdAndStatusOrderByStartDesc(testUser.getId(), APPROVED, PAGEABLE);
+        assertEquals(views.size(), fetchedBookings.size());
+        assertTrue(fetchedBookings.containsAll(views));
+        assertTrue(views.containsAll(fetchedBookings));
     }
 
 
@@ -318,10 +319,12 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByItemInAndStatusOrderByStartAsc_Test() {
+    void findByItem_Owner_IdAndStatusOrderByIdDesc_Test() {
     }
 
-    @Test
-    void findBookingByStatusOrderByIdDesc_Test() {
+    private static List<BookingView> views(List<Booking> bookings) {
+        return bookings.stream()
+                .map(booking -> PROJECTIONS.createProjection(BookingView.class, Map.of("id", booking.getId())))
+                .collect(toList());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.utils.KeysetCursor;
+import ru.practicum.shareit.utils.StatementCountTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.booking.BookingState.*;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingServiceStatementCountTest extends StatementCountTest {
+    private static final List<BookingState> LISTED_STATES = List.of(ALL, PAST, CURRENT, FUTURE, WAITING, REJECTED);
+
+    private final BookingService bookingService;
+    private User owner;
+    private User booker;
+    private Item drill;
+    private Item saw;
+
+    @BeforeEach
+    void setUp() {
+        owner = persist(User.builder().name("owner").email("owner@mail.com").build());
+        booker = persist(User.builder().name("booker").email("booker@mail.com").build());
+        drill = persist(Item.builder().name("Drill").description("Cordless drill").available(true).owner(owner).build());
+        saw = persist(Item.builder().name("Saw").description("Hand saw").available(true).owner(owner).build());
+
+        persist(booking(drill, NOW.minusDays(5), NOW.minusDays(4), APPROVED));
+        persist(booking(saw, NOW.minusDays(1), NOW.plusDays(1), APPROVED));
+        persist(booking(drill, NOW.plusDays(1), NOW.plusDays(2), WAITING));
+        persist(booking(saw, NOW.plusDays(3), NOW.plusDays(4), REJECTED));
+
+        startCounting();
+    }
+
+    @Test
+    void getBookings_everyStateIsOneStatementWithoutLoadingBookingsOrItems() {
+        LISTED_STATES.forEach(state -> {
+            assertThat(statementsOf(() -> bookingService.getBookings(booker.getId(), state, 0, 20))).isEqualTo(2);
+            assertNoBookingOrItemLoaded();
+        });
+    }
+
+    @Test
+    void getOwnerBookings_everyStateIsOneStatementWithoutLoadingBookingsOrItems() {
+        LISTED_STATES.forEach(state -> {
+            assertThat(statementsOf(() -> bookingService.getOwnerBookings(owner.getId(), state, 0, 20))).isEqualTo(2);
+            assertNoBookingOrItemLoaded();
+        });
+    }
+
+    @Test
+    void getBookingsAfter_everyStateFetchesItemsOwnersAndBookersInOneStatement() {
+        LISTED_STATES.forEach(state -> assertThat(statementsOf(() ->
+                bookingService.getBookingsAfter(booker.getId(), state, KeysetCursor.FIRST, 20))).isEqualTo(2));
+    }
+
+    @Test
+    void getOwnerBookingsAfter_everyStateFetchesItemsOwnersAndBookersInOneStatement() {
+        List<BookingDTOResponse> bookings = bookingService.getOwnerBookingsAfter(owner.getId(), ALL, KeysetCursor.FIRST, 20);
+
+        LISTED_STATES.forEach(state -> assertThat(statementsOf(() ->
+                bookingService.getOwnerBookingsAfter(owner.getId(), state, KeysetCursor.FIRST, 20))).isEqualTo(2));
+        assertThat(bookings).hasSize(4).allSatisfy(booking -> {
+            assertThat(booking.getItem().getOwner().getEmail()).isEqualTo("owner@mail.com");
+            assertThat(booking.getBooker().getName()).isEqualTo("booker");
+        });
+    }
+
+    @Test
+    void getBookings_returnsItemOwnerAndBookerColumns() {
+        List<BookingDTOResponse> bookings = bookingService.getBookings(booker.getId(), ALL, 0, 20);
+
+        assertThat(bookings).hasSize(4);
+        assertThat(bookings).extracting(booking -> booking.getItem().getName())
+                .containsExactly("Saw", "Drill", "Saw", "Drill");
+        assertThat(bookings).allSatisfy(booking -> {
+            assertThat(booking.getItem().getOwner().getEmail()).isEqualTo("owner@mail.com");
+            assertThat(booking.getBooker().getName()).isEqualTo("booker");
+        });
+    }
+
+    /**
+     * Runs a listing on an empty persistence context and counts its statements: the user lookup and the listing itself.
+     */
+    private long statementsOf(Supplier<List<BookingDTOResponse>> listing) {
+        entityManager.clear();
+        statistics.clear();
+
+        assertThat(listing.get()).isNotEmpty();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void assertNoBookingOrItemLoaded() {
+        assertThat(statistics.getEntityStatistics(Booking.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Item.class.getName()).getLoadCount()).isZero();
+    }
+
+    private Booking booking(Item item, LocalDateTime start, LocalDateTime end, BookingState status) {
+        return Booking.builder().start(start).end(end).item(item).booker(booker).status(status).build();
+    }
+}
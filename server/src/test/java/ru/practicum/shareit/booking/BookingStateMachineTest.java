@@ -0,0 +1,108 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemDTO;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.UserDTO;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.booking.BookingState.*;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingStateMachineTest {
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+    private final BookingService bookingService;
+    private final BookingStateMachine stateMachine;
+    private final BookingEventRepository eventRepository;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final List<UserDTO> users = new ArrayList<>();
+    private UserDTO owner;
+    private UserDTO booker;
+    private BookingDTOResponse booking;
+
+    @BeforeEach
+    void setUp() {
+        owner = addUser("owner");
+        booker = addUser("booker");
+        ItemDTO item = itemService.addItem(owner.getId(),
+                ItemDTO.builder().name("Drill").description("Cordless drill").available(true).build());
+        booking = bookingService.addBooking(booker.getId(), BookingDTO.builder()
+                .itemId(item.getId())
+                .start(START)
+                .end(START.plusHours(2))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        users.forEach(user -> userService.deleteUser(user.getId()));
+    }
+
+    @Test
+    void statusChanges_areAppendedToEventLog() {
+        bookingService.updateBooking(owner.getId(), booking.getId(), true);
+        bookingService.updateBookings(owner.getId(), List.of(
+                BookingDecisionDTO.builder().bookingId(booking.getId()).approved(false).build()));
+
+        List<BookingEventDTO> events = bookingService.getBookingEvents(booking.getId(), booker.getId());
+
+        assertThat(events).extracting(BookingEventDTO::getFrom, BookingEventDTO::getTo, BookingEventDTO::getActorId)
+                .containsExactly(
+                        tuple(null, WAITING, booker.getId()),
+                        tuple(WAITING, APPROVED, owner.getId()),
+                        tuple(APPROVED, REJECTED, owner.getId()));
+        assertThat(stateMachine.replay(eventRepository.findAllByBookingIdOrderById(booking.getId()))).isEqualTo(REJECTED);
+    }
+
+    @Test
+    void refusedChange_isNotLogged() {
+        bookingService.updateBooking(owner.getId(), booking.getId(), true);
+
+        BadRequestException e = assertThrows(BadRequestException.class,
+                () -> bookingService.updateBooking(owner.getId(), booking.getId(), true));
+
+        assertThat(e.getMessage()).isEqualTo("Booking already approved");
+        assertThat(bookingService.getBookingEvents(booking.getId(), owner.getId())).hasSize(2);
+    }
+
+    @Test
+    void getBookingEvents_otherUser_throwsNotFound() {
+        UserDTO stranger = addUser("stranger");
+
+        assertThrows(NotFoundException.class, () -> bookingService.getBookingEvents(booking.getId(), stranger.getId()));
+    }
+
+    @Test
+    void refusal_onlyAllowsTransitionsOfTheTable() {
+        assertThat(stateMachine.refusal(null, WAITING)).isEmpty();
+        assertThat(stateMachine.refusal(WAITING, APPROVED)).isEmpty();
+        assertThat(stateMachine.refusal(REJECTED, APPROVED)).isEmpty();
+        assertThat(stateMachine.refusal(null, APPROVED)).isPresent();
+        assertThat(stateMachine.refusal(APPROVED, WAITING)).contains("Booking cannot change from APPROVED to WAITING");
+        assertThat(stateMachine.refusal(WAITING, PAST)).isPresent();
+    }
+
+    private UserDTO addUser(String name) {
+        UserDTO user = userService.addUser(UserDTO.builder().name(name).email(name + "@events.com").build());
+        users.add(user);
+        return user;
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.ItemDTO;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.UserDTO;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.booking.BookingState.*;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingStatsCounterTest {
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+    private final BookingService bookingService;
+    private final BookingStatsCounter bookingStatsCounter;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final JdbcTemplate jdbcTemplate;
+    private final List<UserDTO> users = new ArrayList<>();
+    private UserDTO owner;
+    private UserDTO booker;
+    private UserDTO otherBooker;
+    private ItemDTO item;
+
+    @BeforeEach
+    void setUp() {
+        owner = addUser("owner");
+        booker = addUser("booker");
+        otherBooker = addUser("other");
+        item = itemService.addItem(owner.getId(),
+                ItemDTO.builder().name("Drill").description("Cordless drill").available(true).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        users.stream()
+                .filter(user -> userService.isExistUser(user.getId()))
+                .forEach(user -> userService.deleteUser(user.getId()));
+    }
+
+    @Test
+    void getStats_newUser_returnsZeroCounts() {
+        BookingStatsDTO stats = bookingService.getStats(owner.getId());
+
+        assertThat(stats.getBooker()).containsOnlyKeys(ALL, WAITING, APPROVED, REJECTED, CANCELED);
+        assertThat(stats.getBooker().values()).containsOnly(0L);
+        assertThat(stats.getOwner().values()).containsOnly(0L);
+    }
+
+    @Test
+    void statusChanges_updateBookerAndOwnerCounts() {
+        BookingDTOResponse first = addBooking(booker, 0);
+        BookingDTOResponse second = addBooking(booker, 1);
+        BookingDTOResponse third = addBooking(otherBooker, 2);
+        addBooking(otherBooker, 3);
+
+        bookingService.updateBooking(owner.getId(), first.getId(), true);
+        bookingService.updateBookings(owner.getId(), List.of(
+                BookingDecisionDTO.builder().bookingId(second.getId()).approved(false).build(),
+                BookingDecisionDTO.builder().bookingId(third.getId()).approved(true).build()));
+        bookingService.updateBooking(owner.getId(), first.getId(), false);
+
+        assertThat(bookingService.getStats(owner.getId()).getOwner())
+                .containsEntry(ALL, 4L)
+                .containsEntry(WAITING, 1L)
+                .containsEntry(APPROVED, 1L)
+                .containsEntry(REJECTED, 2L);
+        assertThat(bookingService.getStats(booker.getId()).getBooker())
+                .containsEntry(ALL, 2L)
+                .containsEntry(REJECTED, 2L);
+        assertThat(bookingService.getStats(otherBooker.getId()).getBooker())
+                .containsEntry(WAITING, 1L)
+                .containsEntry(APPROVED, 1L);
+        assertThat(bookingService.getStats(booker.getId()).getOwner().values()).containsOnly(0L);
+    }
+
+    @Test
+    void rebuild_restoresCountsFromBookings() {
+        addBooking(booker, 0);
+        bookingService.updateBooking(owner.getId(), addBooking(booker, 1).getId(), true);
+        Map<BookingState, Long> expected = bookingService.getStats(owner.getId()).getOwner();
+        jdbcTemplate.update("UPDATE booking_stats SET waiting = 42, approved = 0 WHERE user_id = ?", owner.getId());
+
+        bookingService.rebuildStats(List.of(owner.getId()));
+
+        assertThat(bookingService.getStats(owner.getId()).getOwner()).isEqualTo(expected);
+    }
+
+    @Test
+    void deleteUser_rebuildsCountsOfUsersWhoSharedBookings() {
+        addBooking(booker, 0);
+        addBooking(otherBooker, 1);
+
+        userService.deleteUser(booker.getId());
+
+        assertThat(bookingService.getStats(owner.getId()).getOwner())
+                .containsEntry(ALL, 1L)
+                .containsEntry(WAITING, 1L);
+    }
+
+    private BookingDTOResponse addBooking(UserDTO user, int day) {
+        return bookingService.addBooking(user.getId(), BookingDTO.builder()
+                .itemId(item.getId())
+                .start(START.plusDays(day))
+                .end(START.plusDays(day).plusHours(2))
+                .build());
+    }
+
+    private UserDTO addUser(String name) {
+        UserDTO user = userService.addUser(UserDTO.builder().name(name).email(name + "@stats.com").build());
+        users.add(user);
+        return user;
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemAvailabilityCalendarTest {
+    private static final Long ITEM_ID = 1L;
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+    private ItemAvailabilityCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new ItemAvailabilityCalendar(bookingRepository);
+        when(bookingRepository.findAllByItem_IdAndStatusInAndEndAfter(eq(ITEM_ID), anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of(booking(10L, hour(10), hour(12)), booking(11L, hour(12), hour(13)), booking(12L, hour(15), hour(16))));
+    }
+
+    @Test
+    void nextFreeStart_freeInterval_returnsRequestedStart() {
+        assertThat(calendar.nextFreeStart(ITEM_ID, hour(8), hour(10))).isEqualTo(hour(8));
+        assertThat(calendar.nextFreeStart(ITEM_ID, hour(13), hour(15))).isEqualTo(hour(13));
+    }
+
+    @Test
+    void nextFreeStart_occupiedInterval_skipsAdjacentBookingsToFirstGapThatFits() {
+        assertThat(calendar.nextFreeStart(ITEM_ID, hour(9), hour(11))).isEqualTo(hour(13));
+        assertThat(calendar.nextFreeStart(ITEM_ID, hour(11), hour(14))).isEqualTo(hour(16));
+    }
+
+    @Test
+    void addAndRemove_updateLoadedCalendarWithoutReloading() {
+        calendar.nextFreeStart(ITEM_ID, hour(8), hour(9));
+
+        calendar.add(ITEM_ID, 13L, hour(13), hour(14));
+        assertThat(calendar.nextFreeStart(ITEM_ID, hour(13), hour(14))).isEqualTo(hour(14));
+
+        calendar.remove(ITEM_ID, 10L);
+        assertThat(calendar.nextFreeStart(ITEM_ID, hour(10), hour(12))).isEqualTo(hour(10));
+        verify(bookingRepository, times(1)).findAllByItem_IdAndStatusInAndEndAfter(eq(ITEM_ID), anyList(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void invalidateAll_reloadsCalendarOnNextLookup() {
+        calendar.nextFreeStart(ITEM_ID, hour(8), hour(9));
+        calendar.add(ITEM_ID, 13L, hour(8), hour(9));
+
+        calendar.invalidateAll();
+
+        assertThat(calendar.nextFreeStart(ITEM_ID, hour(8), hour(9))).isEqualTo(hour(8));
+        verify(bookingRepository, times(2)).findAllByItem_IdAndStatusInAndEndAfter(eq(ITEM_ID), anyList(), any(LocalDateTime.class));
+    }
+
+    private static Booking booking(Long id, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder().id(id).start(start).end(end).build();
+    }
+
+    private static LocalDateTime hour(int hour) {
+        return DAY.plusHours(hour);
+    }
+}
@@ -11,15 +11,20 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.item.ItemConstant.MAX_IMPORT_ROWS;
 import static ru.practicum.shareit.item.ItemConstant.X_SHARER_USER_ID;
 
 @SpringBootTest
@@ -188,4 +193,88 @@ public class ItemControllerTest {
                         .header(X_SHARER_USER_ID, userId))
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void getAvailability_success() {
+        Long itemId = 1L;
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime end = start.plusHours(2);
+        ItemAvailabilityDTO responseDto = ItemAvailabilityDTO.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .available(false)
+                .nextAvailableStart(start.plusHours(3))
+                .build();
+        when(itemService.getAvailability(itemId, start, end)).thenReturn(responseDto);
+
+        mockMvc.perform(get("/items/{itemId}/availability", itemId)
+                        .param("start", start.toString())
+                        .param("end", end.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(responseDto)));
+    }
+
+    @Test
+    @SneakyThrows
+    void importItems_ndjson_readsEveryLine() {
+        Long userId = 1L;
+        ItemImportResultDTO result = ItemImportResultDTO.builder().imported(2).ids(List.of(1L, 2L)).errors(List.of()).build();
+        when(itemService.importItems(eq(userId), any())).thenReturn(result);
+
+        mockMvc.perform(post("/items/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true}\n"
+                                + "{\"name\":\"Saw\",\"description\":\"Hand saw\",\"available\":false}\n")
+                        .header(X_SHARER_USER_ID, userId))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(result)));
+
+        verify(itemService).importItems(eq(userId), argThat(items -> items.size() == 2
+                && items.get(0).getName().equals("Drill") && items.get(1).getName().equals("Saw")));
+    }
+
+    @Test
+    @SneakyThrows
+    void importItems_jsonArray_readsEveryElement() {
+        Long userId = 1L;
+        List<ItemDTO> items = List.of(
+                ItemDTO.builder().name("Drill").description("Cordless").available(true).build(),
+                ItemDTO.builder().name("Saw").description("Hand saw").available(false).build());
+        when(itemService.importItems(eq(userId), any()))
+                .thenReturn(ItemImportResultDTO.builder().imported(2).ids(List.of(1L, 2L)).errors(List.of()).build());
+
+        mockMvc.perform(post("/items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(items))
+                        .header(X_SHARER_USER_ID, userId))
+                .andExpect(status().isOk());
+
+        verify(itemService).importItems(eq(userId), argThat(rows -> rows.size() == 2));
+    }
+
+    @Test
+    @SneakyThrows
+    void importItems_malformedBody_returnsBadRequest() {
+        mockMvc.perform(post("/items/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"Drill\"}\n{\"name\":")
+                        .header(X_SHARER_USER_ID, 1L))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @SneakyThrows
+    void importItems_tooManyRows_returnsBadRequestWithoutImporting() {
+        String row = "{\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true}\n";
+
+        mockMvc.perform(post("/items/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(row.repeat(MAX_IMPORT_ROWS + 1))
+                        .header(X_SHARER_USER_ID, 1L))
+                .andExpect(status().isBadRequest());
+
+        verify(itemService, never()).importItems(any(), any());
+    }
+}
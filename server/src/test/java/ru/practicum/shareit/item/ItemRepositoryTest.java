@@ -9,6 +9,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.request.Request;
 import ru.practicum.shareit.user.User;
 
@@ -42,6 +44,8 @@ public class ItemRepositoryTest {
 
     private static final Pageable PAGEABLE = PageRequest.of(0, 20);
 
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
     @BeforeEach
     void setUp() {
         testUser = User.builder()
@@ -76,7 +80,7 @@ public class ItemRepositoryTest {
     @Test
     void findAllByOwnerIdOrderByIdTest() {
 
-        when(itemRepository.findAllByOwnerIdOrderById(any(Long.class), any(Pageable.class))).thenReturn(Arrays.asList(item1, item2));
+        when(itemRepository.findAllByOwnerIdOrderById(any(Long.class), any(Pageable.class))).thenReturn(Arrays.asList(view(item1), view(item2)));
 
         testEntityManager.persist(testUser);
         testEntityManager.persist(request);
@@ -85,12 +89,13 @@ public class ItemRepositoryTest {
         testEntityManager.flush();
 
 
-        List<Item> foundItemsByOwner = itemRepository.findAllByOwnerIdOrderById(testUser.getId(), PAGEABLE);
+        List<ItemView> foundItemsByOwner = itemRepository.findAllByOwnerIdOrderById(testUser.getId(), PAGEABLE);
 
         assertThat(foundItemsByOwner)
                 .isNotNull()
                 .hasSize(2)
-                .containsExactly(item1, item2);
+                .extracting(ItemView::getId)
+                .containsExactly(item1.getId(), item2.getId());
     }
 
     @DisplayName("Поиск по имени или описанию")
@@ -98,35 +103,37 @@ public class ItemRepositoryTest {
     void findByNameOrDescriptionTest() {
         String armature = "Armature";
         when(itemRepository.findByNameOrDescriptionAndAvailable(
-                any(String.class), any(String.class), anyInt(), anyInt())).thenReturn(Arrays.asList(item1, item2));
+                any(String.class), any(String.class), anyInt(), anyInt())).thenReturn(Arrays.asList(view(item1), view(item2)));
 
         testEntityManager.persist(testUser);
         testEntityManager.persist(request);
         testEntityManager.persist(item1);
         testEntityManager.persist(item2);
         testEntityManager.flush();
-        List<Item> items = itemRepository.findByNameOrDescriptionAndAvailable(
+        List<ItemView> items = itemRepository.findByNameOrDescriptionAndAvailable(
                 armature, armature, 0, 20);
 
         assertThat(items)
                 .isNotNull()
                 .hasSize(2)
-                .containsExactly(item1, item2);
+                .extracting(ItemView::getId)
+                .containsExactly(item1.getId(), item2.getId());
     }
 
     @Test
     void findAllByRequestIdTest() {
-        when(itemRepository.findAllByRequestId(any(Long.class))).thenReturn(Arrays.asList(item1, item2));
+        when(itemRepository.findAllByRequestId(any(Long.class))).thenReturn(Arrays.asList(view(item1), view(item2)));
         testEntityManager.persist(testUser);
         testEntityManager.persist(request);
         testEntityManager.persist(item1);
         testEntityManager.persist(item2);
         testEntityManager.flush();
-        List<Item> items = itemRepository.findAllByRequestId(request.getId());
+        List<ItemView> items = itemRepository.findAllByRequestId(request.getId());
         assertThat(items)
                 .isNotNull()
                 .hasSize(2)
-                .containsExactly(item1, item2);
+                .extracting(ItemView::getId)
+                .containsExactly(item1.getId(), item2.getId());
     }
 
     @Test
@@ -143,4 +150,8 @@ public class ItemRepositoryTest {
                 .hasSize(2)
                 .containsExactly(item1, item2);
     }
-}
\ No newline at end of file
+
+    private static ItemView view(Item item) {
+        return PROJECTIONS.createProjection(ItemView.class, item);
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.user.UserDTO;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+    private static final UserDTO OWNER = UserDTO.builder().id(1L).name("owner").email("owner@mail.com").build();
+    private static final UserDTO OTHER_OWNER = UserDTO.builder().id(2L).name("other").email("other@mail.com").build();
+
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ItemMapper itemMapper;
+    private ItemSearchIndex itemSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        itemSearchIndex = new ItemSearchIndex(itemRepository, itemMapper);
+    }
+
+    @Test
+    void rebuild_loadsItemsAndBecomesReady() {
+        when(itemRepository.findAllBy(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+        when(itemMapper.toListDTO(anyList())).thenReturn(List.of(item(1L, "Drill", "Cordless drill", true, OWNER)));
+
+        assertThat(itemSearchIndex.isReady()).isFalse();
+        itemSearchIndex.rebuild();
+
+        assertThat(itemSearchIndex.isReady()).isTrue();
+        assertThat(itemSearchIndex.search("dri", 0, 20)).extracting(ItemDTO::getId).containsExactly(1L);
+        assertThat(itemSearchIndex.stats()).containsEntry("documents", 1);
+    }
+
+    @Test
+    void rebuild_overlappingRebuildsRunOneAfterAnother() throws Exception {
+        CountDownLatch firstLoadStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstLoad = new CountDownLatch(1);
+        when(itemRepository.findAllBy(any(Pageable.class))).thenAnswer(invocation -> {
+            firstLoadStarted.countDown();
+            assertThat(releaseFirstLoad.await(5, TimeUnit.SECONDS)).isTrue();
+            return new SliceImpl<>(List.of());
+        });
+        when(itemMapper.toListDTO(anyList())).thenReturn(List.of(item(1L, "Drill", "Cordless drill", true, OWNER)));
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(itemSearchIndex::rebuild);
+        assertThat(firstLoadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> second = CompletableFuture.runAsync(itemSearchIndex::rebuild);
+
+        verify(itemRepository, after(200).times(1)).findAllBy(any(Pageable.class));
+        assertThat(second).isNotDone();
+        releaseFirstLoad.countDown();
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+
+        verify(itemRepository, times(2)).findAllBy(any(Pageable.class));
+        assertThat(itemSearchIndex.isReady()).isTrue();
+        assertThat(itemSearchIndex.stats()).containsEntry("rebuilding", false).containsEntry("documents", 1);
+    }
+
+    @Test
+    void search_intersectsTokensAndRanksNameMatchesFirst() {
+        itemSearchIndex.put(item(1L, "Screwdriver", "Works like a cordless drill", true, OWNER));
+        itemSearchIndex.put(item(2L, "Cordless drill", "Makes holes", true, OWNER));
+        itemSearchIndex.put(item(3L, "Drill", "Hand powered", true, OWNER));
+
+        assertThat(itemSearchIndex.search("Cordless DRILL", 0, 20)).extracting(ItemDTO::getId).containsExactly(2L, 1L);
+        assertThat(itemSearchIndex.search("drill", 1, 1)).extracting(ItemDTO::getId).containsExactly(3L);
+    }
+
+    @Test
+    void search_skipsUnavailableItems() {
+        itemSearchIndex.put(item(1L, "Drill", "Cordless", false, OWNER));
+
+        assertThat(itemSearchIndex.search("drill", 0, 20)).isEmpty();
+    }
+
+    @Test
+    void put_replacesPreviousTokens() {
+        itemSearchIndex.put(item(1L, "Drill", "Cordless", true, OWNER));
+        itemSearchIndex.put(item(1L, "Hammer", "Heavy", true, OWNER));
+
+        assertThat(itemSearchIndex.search("drill", 0, 20)).isEmpty();
+        assertThat(itemSearchIndex.search("hammer", 0, 20)).extracting(ItemDTO::getId).containsExactly(1L);
+        assertThat(itemSearchIndex.stats()).containsEntry("terms", 2);
+    }
+
+    @Test
+    void removeOwner_dropsOnlyThatOwnersItems() {
+        itemSearchIndex.put(item(1L, "Drill", "Cordless", true, OWNER));
+        itemSearchIndex.put(item(2L, "Drill", "Hand powered", true, OTHER_OWNER));
+
+        itemSearchIndex.removeOwner(OWNER.getId());
+
+        assertThat(itemSearchIndex.search("drill", 0, 20)).extracting(ItemDTO::getId).containsExactly(2L);
+    }
+
+    private static ItemDTO item(Long id, String name, String description, boolean available, UserDTO owner) {
+        return ItemDTO.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ItemSearchRepositoryTest {
+    private static final String PATTERN = "%drill%";
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private ItemRepository itemRepository;
+    private Item descriptionMatch;
+    private Item nameMatch;
+
+    @BeforeEach
+    void setUp() {
+        User owner = testEntityManager.persist(User.builder().name("owner").email("owner@mail.com").build());
+        descriptionMatch = testEntityManager.persist(item(owner, "Screwdriver", "Works like a drill", true));
+        nameMatch = testEntityManager.persist(item(owner, "Drill", "Cordless", true));
+        testEntityManager.persist(item(owner, "Old drill", "Broken", false));
+        testEntityManager.persist(item(owner, "Hammer", "Heavy", true));
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void findByNameOrDescriptionAndAvailable_skipsUnavailableNameMatches() {
+        List<ItemView> items = itemRepository.findByNameOrDescriptionAndAvailable(PATTERN, PATTERN, 0, 20);
+
+        assertThat(items).extracting(ItemView::getAvailable).containsOnly(true);
+    }
+
+    @Test
+    void findByNameOrDescriptionAndAvailable_ranksNameMatchesFirst() {
+        List<ItemView> items = itemRepository.findByNameOrDescriptionAndAvailable(PATTERN, PATTERN, 0, 20);
+
+        assertThat(items).extracting(ItemView::getId).containsExactly(nameMatch.getId(), descriptionMatch.getId());
+        assertThat(items).extracting(ItemView::getOwnerEmail).containsOnly("owner@mail.com");
+    }
+
+    @Test
+    void findByNameOrDescriptionAndAvailable_treatsWildcardsAsLiterals() {
+        List<ItemView> items = itemRepository.findByNameOrDescriptionAndAvailable("%\\%%", "%\\%%", 0, 20);
+
+        assertThat(items).isEmpty();
+    }
+
+    private static Item item(User owner, String name, String description, boolean available) {
+        return Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.utils.StatementCountTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.booking.BookingState.APPROVED;
+import static ru.practicum.shareit.booking.BookingState.REJECTED;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemServiceStatementCountTest extends StatementCountTest {
+    private final ItemService itemService;
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking lastBooking;
+    private Booking nextBooking;
+
+    @BeforeEach
+    void setUp() {
+        owner = persist(User.builder().name("owner").email("owner@mail.com").build());
+        booker = persist(User.builder().name("booker").email("booker@mail.com").build());
+        User commenter = persist(User.builder().name("commenter").email("commenter@mail.com").build());
+        item = persist(Item.builder().name("Drill").description("Cordless drill").available(true).owner(owner).build());
+
+        persist(booking(NOW.minusDays(5), APPROVED));
+        lastBooking = persist(booking(NOW.minusDays(2), APPROVED));
+        persist(booking(NOW.minusDays(1), REJECTED));
+        nextBooking = persist(booking(NOW.plusDays(1), APPROVED));
+        persist(booking(NOW.plusDays(3), APPROVED));
+
+        persist(Comment.builder().text("Great").item(item).author(booker).created(NOW.minusDays(1)).build());
+        persist(Comment.builder().text("Loud").item(item).author(commenter).created(NOW.minusHours(1)).build());
+
+        startCounting();
+    }
+
+    @Test
+    void findItemById_forOwner_loadsEverythingInOneStatement() {
+        ItemDTO itemDTO = itemService.findItemById(item.getId(), owner.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(itemDTO.getOwner().getEmail()).isEqualTo("owner@mail.com");
+        assertThat(itemDTO.getLastBooking().getId()).isEqualTo(lastBooking.getId());
+        assertThat(itemDTO.getLastBooking().getBookerId()).isEqualTo(booker.getId());
+        assertThat(itemDTO.getNextBooking().getId()).isEqualTo(nextBooking.getId());
+        assertThat(itemDTO.getComments()).extracting(CommentDTO::getAuthorName).containsExactly("commenter", "booker");
+    }
+
+    @Test
+    void findItemById_forOtherUser_hidesBookingsInOneStatement() {
+        ItemDTO itemDTO = itemService.findItemById(item.getId(), booker.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(itemDTO.getLastBooking()).isNull();
+        assertThat(itemDTO.getNextBooking()).isNull();
+        assertThat(itemDTO.getComments()).hasSize(2);
+    }
+
+    @Test
+    void getItems_resolvesLastAndNextBookingRegardlessOfPageSize() {
+        persist(Item.builder().name("Saw").description("Hand saw").available(true).owner(owner).build());
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<ItemDTO> firstPage = itemService.getItems(owner.getId(), 0, 1);
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        List<ItemDTO> bothItems = itemService.getItems(owner.getId(), 0, 20);
+
+        assertThat(firstPage).hasSize(1);
+        assertThat(firstPage.get(0).getLastBooking().getId()).isEqualTo(lastBooking.getId());
+        assertThat(firstPage.get(0).getNextBooking().getId()).isEqualTo(nextBooking.getId());
+        assertThat(bothItems.get(1).getLastBooking()).isNull();
+        assertThat(bothItems.get(1).getNextBooking()).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements * 2);
+    }
+
+    @Test
+    void importItems_insertsValidRowsInBatchesAndReportsInvalidRows() {
+        List<ItemDTO> rows = IntStream.range(0, 120)
+                .mapToObj(row -> ItemDTO.builder().name("Item " + row).description("Imported").available(true).build())
+                .collect(Collectors.toList());
+        rows.get(3).setName(" ");
+        rows.get(7).setAvailable(null);
+        rows.set(9, null);
+
+        ItemImportResultDTO result = itemService.importItems(owner.getId(), rows);
+        entityManager.flush();
+
+        assertThat(result.getImported()).isEqualTo(117);
+        assertThat(result.getIds()).hasSize(117).doesNotHaveDuplicates();
+        assertThat(result.getErrors()).extracting(ItemImportErrorDTO::getRow).containsExactly(3, 7, 9);
+        assertThat(result.getErrors()).extracting(ItemImportErrorDTO::getMessage)
+                .containsExactly("Name cannot be blank", "Available cannot be null", "Item cannot be null");
+        // owner lookup, up to four sequence calls for 117 ids in blocks of 50, three insert batches
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(8);
+        assertThat(itemService.getItems(owner.getId(), 0, 200)).hasSize(118);
+    }
+
+    private Booking booking(LocalDateTime start, BookingState status) {
+        return Booking.builder()
+                .start(start)
+                .end(start.plusHours(12))
+                .item(item)
+                .booker(booker)
+                .status(status)
+                .build();
+    }
+}
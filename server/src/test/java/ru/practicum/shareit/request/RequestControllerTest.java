@@ -14,16 +14,20 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.utils.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.item.ItemConstant.X_SHARER_USER_ID;
+import static ru.practicum.shareit.utils.Constant.X_NEXT_CURSOR;
 
 @AutoConfigureMockMvc
 @WebMvcTest(controllers = RequestController.class)
@@ -102,6 +106,23 @@ class RequestControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(expectedRequests)));
     }
 
+    @Test
+    @SneakyThrows
+    @DisplayName("Retrieval of the request feed: a full page carries the cursor of the next one")
+    void getAllRequests_withCursor_returnsNextCursor() {
+        List<RequestDTOResponse> expectedRequests = Collections.singletonList(request);
+        when(requestService.getRequestFeed(any(Long.class), eq(KeysetCursor.FIRST), eq(1)))
+                .thenReturn(expectedRequests);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/requests/all")
+                        .param("after", "")
+                        .param("size", "1")
+                        .header(X_SHARER_USER_ID, userId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(X_NEXT_CURSOR, KeysetCursor.of(request.getCreated(), request.getId()).encode()))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedRequests)));
+    }
+
     @Test
     @SneakyThrows
     @DisplayName("Retrieval of a specific request: should return the status 200 OK and expected request")
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.ItemDTO;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.UserDTO;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.utils.KeysetCursor;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class RequestFeedTest {
+    private final RequestService requestService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final List<UserDTO> users = new ArrayList<>();
+    private Statistics statistics;
+    private UserDTO reader;
+    private UserDTO requestor;
+    private List<RequestDTOResponse> requests;
+    private RequestDTOResponse ownRequest;
+
+    @BeforeEach
+    void setUp() {
+        reader = addUser("reader");
+        requestor = addUser("requestor");
+        requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            requests.add(requestService.addRequestDTO(requestor.getId(),
+                    RequestDTO.builder().description("Need tool " + i).build()));
+        }
+        ownRequest = requestService.addRequestDTO(reader.getId(), RequestDTO.builder().description("Own request").build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        users.forEach(user -> userService.deleteUser(user.getId()));
+    }
+
+    @Test
+    void getRequestFeed_pagesNewestFirstAndSkipsOwnRequests() {
+        List<RequestDTOResponse> firstPage = requestService.getRequestFeed(reader.getId(), KeysetCursor.FIRST, 2);
+        RequestDTOResponse last = firstPage.get(firstPage.size() - 1);
+        List<RequestDTOResponse> secondPage = requestService.getRequestFeed(reader.getId(),
+                KeysetCursor.of(last.getCreated(), last.getId()), 1);
+
+        assertThat(firstPage).extracting(RequestDTOResponse::getId)
+                .containsExactly(requests.get(2).getId(), requests.get(1).getId());
+        assertThat(secondPage).extracting(RequestDTOResponse::getId).containsExactly(requests.get(0).getId());
+    }
+
+    @Test
+    void getRequestFeed_firstPageIsSharedUntilRequestIsAdded() {
+        UserDTO otherReader = addUser("other");
+        requestService.getRequestFeed(reader.getId(), KeysetCursor.FIRST, 2);
+        statistics.clear();
+
+        List<RequestDTOResponse> cachedPage = requestService.getRequestFeed(otherReader.getId(), KeysetCursor.FIRST, 2);
+
+        // reader lookup and the items of the page; the requests come from the cache
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(cachedPage).extracting(RequestDTOResponse::getId)
+                .containsExactly(ownRequest.getId(), requests.get(2).getId());
+
+        RequestDTOResponse added = requestService.addRequestDTO(requestor.getId(),
+                RequestDTO.builder().description("Need a ladder").build());
+        ItemDTO ladder = itemService.addItem(otherReader.getId(), ItemDTO.builder()
+                .name("Ladder").description("Folding ladder").available(true).requestId(added.getId()).build());
+
+        List<RequestDTOResponse> refreshedPage = requestService.getRequestFeed(reader.getId(), KeysetCursor.FIRST, 2);
+
+        assertThat(refreshedPage).extracting(RequestDTOResponse::getId)
+                .containsExactly(added.getId(), requests.get(2).getId());
+        assertThat(refreshedPage.get(0).getItems()).extracting(ItemDTO::getId).containsExactly(ladder.getId());
+    }
+
+    private UserDTO addUser(String name) {
+        UserDTO user = userService.addUser(UserDTO.builder().name(name).email(name + "@feed.com").build());
+        users.add(user);
+        return user;
+    }
+}
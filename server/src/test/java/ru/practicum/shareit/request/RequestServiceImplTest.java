@@ -8,6 +8,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
@@ -37,6 +38,8 @@ class RequestServiceImplTest {
     private ItemRepository itemRepository;
     @Mock
     private ItemMapper itemMapper;
+    @Mock
+    private RequestFeedCache feedCache;
     @InjectMocks
     private RequestServiceImpl requestServiceImpl;
     private Request request;
@@ -122,9 +125,12 @@ class RequestServiceImplTest {
                 .requestor(user)
                 .build();
 
-        List<Request> requestList = new ArrayList<>(Arrays.asList(request1, request2));
+        SpelAwareProxyProjectionFactory projections = new SpelAwareProxyProjectionFactory();
+        List<RequestView> requestList = new ArrayList<>(Arrays.asList(
+                projections.createProjection(RequestView.class, request1),
+                projections.createProjection(RequestView.class, request2)));
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(requestMapperResponse.toDTOList(requestList)).thenReturn(Arrays.asList(outputResponse));
+        when(requestMapperResponse.fromViews(requestList)).thenReturn(Arrays.asList(outputResponse));
         when(requestRepository.findAllByRequestor_Id(anyLong(), any())).thenReturn(new PageImpl<>(requestList));
         assertEquals(outputResponse, requestServiceImpl.getRequestsDTO(1L, 0, 1).get(0));
         verify(userRepository).findById(1L);
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDTO;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.utils.StatementCountTest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class RequestServiceStatementCountTest extends StatementCountTest {
+    private final RequestService requestService;
+    private User requestor;
+    private User owner;
+    private Request drillRequest;
+    private Request sawRequest;
+    private Request ladderRequest;
+    private Item drill;
+    private Item otherDrill;
+    private Item saw;
+
+    @BeforeEach
+    void setUp() {
+        requestor = persist(User.builder().name("requestor").email("requestor@mail.com").build());
+        owner = persist(User.builder().name("owner").email("owner@mail.com").build());
+        User otherOwner = persist(User.builder().name("other").email("other@mail.com").build());
+
+        drillRequest = persist(request("Need a drill"));
+        sawRequest = persist(request("Need a saw"));
+        ladderRequest = persist(request("Need a ladder"));
+
+        drill = persist(item("Drill", owner, drillRequest));
+        otherDrill = persist(item("Hammer drill", otherOwner, drillRequest));
+        saw = persist(item("Saw", otherOwner, sawRequest));
+        persist(item("Hammer", owner, null));
+
+        startCounting();
+    }
+
+    @Test
+    void getRequestsDTO_attachesItemsOfEveryRequestWithOneItemQuery() {
+        List<RequestDTOResponse> requests = requestService.getRequestsDTO(requestor.getId(), 0, 10);
+
+        // requestor lookup, the page of requests and the items of the whole page
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(requests).hasSize(3);
+        assertThat(itemsOf(requests, drillRequest)).containsExactly(drill.getId(), otherDrill.getId());
+        assertThat(itemsOf(requests, sawRequest)).containsExactly(saw.getId());
+        assertThat(itemsOf(requests, ladderRequest)).isEmpty();
+    }
+
+    @Test
+    void getRequestsDTO_partialPageIssuesNoCountQuery() {
+        List<RequestDTOResponse> requests = requestService.getRequestsDTO(requestor.getId(), 0, 1);
+
+        // requestor lookup, the slice of requests and its items; the total is only counted on request
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(requests).hasSize(1);
+        assertThat(requestService.countRequests(requestor.getId())).isEqualTo(3);
+    }
+
+    @Test
+    void getAllRequestsPagableDTO_attachesItemsOfEveryOwnerToTheirOwnRequest() {
+        List<RequestDTOResponse> firstPage = requestService.getAllRequestsPagableDTO(owner.getId(), 0, 1);
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        statistics.clear();
+        List<RequestDTOResponse> allRequests = requestService.getAllRequestsPagableDTO(owner.getId(), 0, 10);
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(statements);
+        assertThat(firstPage).hasSize(1);
+        assertThat(allRequests).hasSize(3);
+        assertThat(itemsOf(allRequests, drillRequest)).containsExactly(drill.getId(), otherDrill.getId());
+        assertThat(itemsOf(allRequests, sawRequest)).containsExactly(saw.getId());
+        assertThat(itemsOf(allRequests, ladderRequest)).isEmpty();
+    }
+
+    private static List<Long> itemsOf(List<RequestDTOResponse> requests, Request request) {
+        return requests.stream()
+                .filter(response -> response.getId().equals(request.getId()))
+                .findFirst()
+                .orElseThrow()
+                .getItems().stream()
+                .map(ItemDTO::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Request request(String description) {
+        return Request.builder().description(description).created(NOW).requestor(requestor).build();
+    }
+
+    private static Item item(String name, User owner, Request request) {
+        return Item.builder()
+                .name(name)
+                .description(name + " for rent")
+                .available(true)
+                .owner(owner)
+                .requestId(request == null ? null : request.getId())
+                .build();
+    }
+}
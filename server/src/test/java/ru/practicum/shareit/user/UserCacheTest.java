@@ -0,0 +1,79 @@
+package ru.practicum.shareit.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.user.UserConstant.USERS_CACHE;
+
+@SpringBootTest(properties = {
+        "spring.cache.type=caffeine",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class UserCacheTest {
+    private final UserService userService;
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+    private Cache<Object, Object> cache;
+    private UserDTO user;
+
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    void setUp() {
+        user = userService.addUser(UserDTO.builder().name("cached").email("cached@mail.com").build());
+        cache = (Cache<Object, Object>) cacheManager.getCache(USERS_CACHE).getNativeCache();
+        cache.invalidateAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (userService.isExistUser(user.getId())) {
+            userService.deleteUser(user.getId());
+        }
+    }
+
+    @Test
+    void getById_secondLookupIsServedFromCache() {
+        long hits = cache.stats().hitCount();
+
+        userService.getById(user.getId());
+        userService.getById(user.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void updateUser_evictsCachedUser() {
+        userService.getById(user.getId());
+
+        userService.updateUser(user.getId(), UserDTO.builder().name("renamed").build());
+
+        assertThat(cache.getIfPresent(user.getId())).isNull();
+        assertThat(userService.getById(user.getId()).getName()).isEqualTo("renamed");
+    }
+
+    @Test
+    void deleteUser_evictsCachedUser() {
+        userService.getById(user.getId());
+
+        userService.deleteUser(user.getId());
+
+        assertThrows(NotFoundException.class, () -> userService.getById(user.getId()));
+    }
+}
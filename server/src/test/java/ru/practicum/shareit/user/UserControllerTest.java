@@ -11,14 +11,19 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
 import java.util.regex.Pattern;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.user.UserConstant.REGEX_EMAIL;
+import static ru.practicum.shareit.utils.Constant.X_TOTAL_COUNT;
 
 @WebMvcTest(UserController.class)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -93,4 +98,24 @@ public class UserControllerTest {
                         .content(objectMapper.writeValueAsString(userAfterUpdate)))
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Получение всех пользователей: общее количество считается только по запросу")
+    void getAll_countsUsersOnlyWhenTotalRequested() {
+        List<UserDTO> users = List.of(UserDTO.builder().id(1L).name("John").email("john@example.com").build());
+        when(userService.getAll(0, 1)).thenReturn(users);
+        when(userService.countUsers()).thenReturn(5L);
+
+        mockMvc.perform(get("/users").param("from", "0").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(X_TOTAL_COUNT))
+                .andExpect(content().json(objectMapper.writeValueAsString(users)));
+        verify(userService, never()).countUsers();
+
+        mockMvc.perform(get("/users").param("from", "0").param("size", "1").param("total", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(X_TOTAL_COUNT, "5"))
+                .andExpect(content().json(objectMapper.writeValueAsString(users)));
+    }
+}
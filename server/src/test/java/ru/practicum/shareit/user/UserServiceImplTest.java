@@ -6,8 +6,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.BookingStatsCounter;
 import ru.practicum.shareit.exception.NotFoundException;
 
 import java.util.Collections;
@@ -31,6 +32,9 @@ class UserServiceImplTest {
     @MockBean
     private UserMapper userMapper;
 
+    @MockBean
+    private BookingStatsCounter bookingStatsCounter;
+
     @Test
     @DisplayName("Добавление пользователя: при корректных данных пользователь добавляется успешно")
     void addUserTest() {
@@ -228,7 +232,7 @@ class UserServiceImplTest {
         int page = 0;
         int size = 20;
 
-        when(userRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+        when(userRepository.findAllBy(any(Pageable.class))).thenReturn(new SliceImpl<>(Collections.emptyList()));
 
         List<UserDTO> result = userService.getAll(page, size);
 
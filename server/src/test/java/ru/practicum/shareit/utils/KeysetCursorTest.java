@@ -0,0 +1,40 @@
+package ru.practicum.shareit.utils;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void encodeAndDecode_roundTrip() {
+        KeysetCursor cursor = KeysetCursor.of(LocalDateTime.of(2024, 3, 1, 10, 15, 30), 42L);
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertFalse(decoded.isFirst());
+    }
+
+    @Test
+    void encode_producesUrlSafeToken() {
+        String token = KeysetCursor.of(LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123456789), 9_999_999L).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void decode_blankToken_returnsFirst() {
+        assertTrue(KeysetCursor.decode("").isFirst());
+        assertTrue(KeysetCursor.decode(null).isFirst());
+    }
+
+    @Test
+    void decode_malformedToken_throwsBadRequest() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("MjAyNC0wMy0wMQ"));
+    }
+}
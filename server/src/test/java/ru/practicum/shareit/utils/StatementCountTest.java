@@ -0,0 +1,48 @@
+package ru.practicum.shareit.utils;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+/**
+ * Base of the tests that count the JDBC statements a service issues, using Hibernate statistics.
+ * Fixtures are persisted in the test transaction with {@link #persist(Object)}, then {@link #startCounting()}
+ * flushes them and resets the counters, so only the statements of the code under test are counted.
+ */
+@Transactional
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public abstract class StatementCountTest {
+    protected static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Autowired
+    protected EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    protected Statistics statistics;
+
+    @BeforeEach
+    void setUpStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Flushes the persisted fixtures, empties the persistence context and resets the statistics.
+     */
+    protected void startCounting() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    protected <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}